@@ -1,24 +1,127 @@
 package com.budget_tracker.tracker.budget_tracker.config;
 
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
 
 @Configuration
 @EnableCaching
+@RequiredArgsConstructor
 public class CacheConfig {
 
+    private final CacheProperties cacheProperties;
+
+    /**
+     * Bounded Caffeine caches, one per entry in app.cache.specs. Statistics are
+     * recorded so hit, miss and eviction counts show up under the cache.* metrics.
+     */
     @Bean
+    @ConditionalOnProperty(prefix = "app.cache.redis", name = "enabled", havingValue = "false", matchIfMissing = true)
     public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        cacheManager.setCacheNames(java.util.Arrays.asList(
-            "users",
-            "categories",
-            "transactions",
-            "budgets"
-        ));
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(cacheProperties.getDefaultSpec()).recordStats());
+        cacheProperties.getSpecs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build()));
         return cacheManager;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Local Caffeine caches backed by Redis, for deployments with several nodes.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.redis", name = "enabled", havingValue = "true")
+    public TwoTierCacheManager twoTierCacheManager(RedisConnectionFactory connectionFactory,
+            CacheInvalidationPublisher cacheInvalidationPublisher) {
+        RedisCacheConfiguration configuration = RedisCacheConfiguration
+                .defaultCacheConfig(getClass().getClassLoader())
+                .prefixCacheNameWith(cacheProperties.getRedis().getKeyPrefix());
+
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new LinkedHashMap<>();
+        cacheProperties.getSpecs().forEach((name, spec) ->
+                cacheConfigurations.put(name, configuration.entryTtl(redisTimeToLive(spec))));
+
+        // SCAN instead of KEYS when a cache is cleared
+        RedisCacheManager redisCacheManager = RedisCacheManager
+                .builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000)))
+                .cacheDefaults(configuration.entryTtl(redisTimeToLive(cacheProperties.getDefaultSpec())))
+                .withInitialCacheConfigurations(cacheConfigurations)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoTierCacheManager(cacheProperties, redisCacheManager, cacheInvalidationPublisher);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.redis", name = "enabled", havingValue = "true")
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        return new CacheInvalidationPublisher(redisTemplate, objectMapper, cacheProperties.getRedis().getInvalidationChannel());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.redis", name = "enabled", havingValue = "true")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+            CacheInvalidationPublisher cacheInvalidationPublisher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationPublisher,
+                new ChannelTopic(cacheProperties.getRedis().getInvalidationChannel()));
+        return container;
+    }
+
+    /**
+     * Redis expiry of a cache: app.cache.redis.time-to-live, shortened to the
+     * local expiry of its spec. A longer one would refill an expired local
+     * entry with the stale value from Redis.
+     */
+    Duration redisTimeToLive(String spec) {
+        Duration timeToLive = cacheProperties.getRedis().getTimeToLive();
+        Duration localExpiry = specExpiry(spec, "expireAfterWrite");
+        if (localExpiry == null) {
+            localExpiry = specExpiry(spec, "expireAfterAccess");
+        }
+        return localExpiry != null && localExpiry.compareTo(timeToLive) < 0 ? localExpiry : timeToLive;
+    }
+
+    // Caffeine specs are comma separated key=value pairs with durations such as 300s or 10m
+    private Duration specExpiry(String spec, String key) {
+        for (String option : spec.split(",")) {
+            String[] keyAndValue = option.trim().split("=", 2);
+            if (keyAndValue.length == 2 && keyAndValue[0].trim().equals(key)) {
+                return DurationStyle.detectAndParse(keyAndValue[1].trim());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Report the local tier of two-tier caches under the cache.* metrics
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.redis", name = "enabled", havingValue = "true")
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getLocalCache().getNativeCache(), cache.getName(), tags);
+    }
+}
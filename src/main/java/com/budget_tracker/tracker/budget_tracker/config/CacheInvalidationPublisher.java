@@ -0,0 +1,85 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import java.util.UUID;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends and receives cache invalidation messages over Redis pub/sub so every
+ * node drops its local copy of a changed entry. Messages sent by this node are
+ * ignored when they come back.
+ */
+@Slf4j
+public class CacheInvalidationPublisher implements MessageListener {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+
+    private TwoTierCacheManager cacheManager;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    public void setCacheManager(TwoTierCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, key));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, null));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+
+        if (nodeId.equals(invalidation.nodeId()) || cacheManager == null) {
+            return;
+        }
+
+        TwoTierCache cache = cacheManager.getExistingCache(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+
+        if (invalidation.key() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.key());
+        }
+    }
+
+    private void publish(CacheInvalidationMessage invalidation) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(invalidation));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Other nodes fall back to the local TTL for this entry
+            log.warn("Failed to publish cache invalidation for {}: {}", invalidation.cacheName(), e.getMessage());
+        }
+    }
+
+    public record CacheInvalidationMessage(String nodeId, String cacheName, String key) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    // Caffeine spec for caches without their own entry in specs
+    private String defaultSpec = "maximumSize=500,expireAfterWrite=600s";
+
+    // Caffeine spec per cache name, e.g. maximumSize=1000,expireAfterAccess=300s
+    private Map<String, String> specs = new LinkedHashMap<>();
+
+    private Redis redis = new Redis();
+
+    @Data
+    public static class Redis {
+
+        // Put a shared Redis tier behind the local caches
+        private boolean enabled = false;
+
+        // Longest expiry of entries in Redis; a cache whose spec expires sooner uses that instead
+        private Duration timeToLive = Duration.ofMinutes(30);
+
+        // Prefix of every cache key in Redis
+        private String keyPrefix = "budget-tracker:cache:";
+
+        // Pub/sub channel used to evict local entries on the other nodes
+        private String invalidationChannel = "budget-tracker:cache-invalidation";
+    }
+}
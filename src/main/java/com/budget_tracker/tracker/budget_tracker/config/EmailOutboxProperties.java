@@ -0,0 +1,32 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.email.outbox")
+public class EmailOutboxProperties {
+
+    // Number of workers sending emails in parallel, each with its own SMTP connection
+    private int poolSize = 2;
+
+    // Emails sent over one SMTP connection
+    private int batchSize = 20;
+
+    // How often the outbox is checked for due emails
+    private long pollIntervalMs = 5000;
+
+    // Attempts before an email is marked as failed
+    private int maxAttempts = 5;
+
+    // Delay before the first retry, doubled on every further attempt
+    private long initialBackoffSeconds = 30;
+
+    private long maxBackoffSeconds = 3600;
+
+    // Emails in SENDING for longer than this are handed out again
+    private long stuckTimeoutMinutes = 10;
+}
@@ -0,0 +1,18 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.events")
+public class EventProperties {
+
+    // Single threaded workers; all events of a user go to the same one
+    private int stripes = 4;
+
+    // Events waiting per worker before publishers are made to wait
+    private int queueCapacity = 10000;
+}
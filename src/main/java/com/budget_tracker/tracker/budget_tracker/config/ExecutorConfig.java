@@ -0,0 +1,74 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class ExecutorConfig {
+
+    private final ExportProperties exportProperties;
+    private final EmailOutboxProperties emailOutboxProperties;
+    private final EventProperties eventProperties;
+
+    /**
+     * Pool for MVC async requests such as streaming exports, sized by
+     * spring.task.execution.pool. Boot only creates it when no other Executor
+     * bean exists, so it is declared here next to the dedicated pools.
+     */
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Bounded pool for export jobs. Submissions beyond the queue capacity are
+     * rejected instead of piling up.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor exportTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(exportProperties.getPoolSize());
+        executor.setMaxPoolSize(exportProperties.getPoolSize());
+        executor.setQueueCapacity(exportProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("export-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Workers draining the email outbox. Emails wait in the outbox table, not
+     * in the queue, so the queue only needs to hold wake-ups.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor emailTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(emailOutboxProperties.getPoolSize());
+        executor.setMaxPoolSize(emailOutboxProperties.getPoolSize());
+        executor.setQueueCapacity(emailOutboxProperties.getPoolSize());
+        executor.setThreadNamePrefix("email-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Workers delivering domain events to their subscribers, in order per user
+     */
+    @Bean
+    public StripedExecutor domainEventExecutor(MeterRegistry meterRegistry) {
+        return new StripedExecutor("domain-events", eventProperties.getStripes(),
+                eventProperties.getQueueCapacity(), meterRegistry);
+    }
+}
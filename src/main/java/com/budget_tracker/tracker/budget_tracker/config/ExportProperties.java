@@ -0,0 +1,33 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.export")
+public class ExportProperties {
+
+    // Directory finished export files are written to; must be shared by all nodes when there are several
+    private String storageDir = "exports";
+
+    // Number of exports generated in parallel
+    private int poolSize = 2;
+
+    // Number of submitted exports that may wait for a worker
+    private int queueCapacity = 100;
+
+    // Pending or running exports allowed per user
+    private int maxActiveJobsPerUser = 2;
+
+    // How long a finished export can be downloaded
+    private int artifactTtlHours = 24;
+
+    // Pending or running exports older than this are marked as failed
+    private int jobTimeoutMinutes = 60;
+
+    // How often expired exports are cleaned up
+    private long cleanupIntervalMs = 900000;
+}
@@ -0,0 +1,27 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.import")
+public class ImportProperties {
+
+    // Rows validated and inserted together, each batch in its own transaction
+    private int batchSize = 500;
+
+    // Row errors listed in the response, the rest are only counted
+    private int maxReportedErrors = 1000;
+
+    // Largest date window, in days, a client may ask fuzzy duplicate matching for
+    private int maxFuzzyWindowDays = 7;
+
+    // Minimum trigram similarity of descriptions for a fuzzy duplicate
+    private double fuzzySimilarity = 0.6;
+
+    // Fill in the fingerprint of transactions created before fingerprints existed
+    private boolean backfillFingerprintsOnStartup = true;
+}
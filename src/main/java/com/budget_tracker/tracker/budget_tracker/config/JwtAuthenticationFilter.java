@@ -5,15 +5,15 @@ import java.io.IOException;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.budget_tracker.tracker.budget_tracker.entity.User;
 import com.budget_tracker.tracker.budget_tracker.exception.common.UnauthorizedException;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.AuthenticatedUser;
+import com.budget_tracker.tracker.budget_tracker.services.auth.PrincipalService;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -26,7 +26,7 @@ import lombok.RequiredArgsConstructor;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalService principalService;
 
     @Override
     protected void doFilterInternal(
@@ -53,18 +53,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            String userEmail = jwtService.extractUsername(jwtToken);
+            // Verified once here, later interceptors read the claims from the request
+            Claims claims = jwtService.parseClaims(jwtToken);
+            request.setAttribute(JwtService.CLAIMS_ATTRIBUTE, claims);
+
+            String userEmail = claims.getSubject();
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                AuthenticatedUser userDetails = principalService.loadPrincipal(userEmail);
 
-                if (jwtService.isTokenValid(jwtToken, userDetails)) {
+                if (jwtService.isTokenValid(claims, userDetails)) {
                     // Check if user is verified, unless they're accessing verification endpoints
                     String requestPath = request.getRequestURI();
                     boolean isVerificationPath = requestPath.startsWith("/auth/verify") || 
                                                 requestPath.startsWith("/auth/resend-verification");
                     
-                    User user = (User) userDetails;
-                    if (!user.isEnabled() && !isVerificationPath && !requestPath.startsWith("/auth")) {
+                    if (!userDetails.isEnabled() && !isVerificationPath && !requestPath.startsWith("/auth")) {
                         throw new UnauthorizedException("Account not verified. Please verify your email before accessing this resource.");
                     }
                     
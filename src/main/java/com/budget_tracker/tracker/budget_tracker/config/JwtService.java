@@ -11,7 +11,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -20,6 +23,9 @@ import io.jsonwebtoken.security.Keys;
 @Service
 public class JwtService {
 
+  // Request attribute holding the verified claims of the access token
+  public static final String CLAIMS_ATTRIBUTE = JwtService.class.getName() + ".claims";
+
   @Value("${application.security.jwt.secret-key}")
   private String secretKey;
   @Value("${application.security.jwt.expiration}")
@@ -27,12 +33,30 @@ public class JwtService {
   @Value("${application.security.jwt.refresh-token.expiration}")
   private long refreshExpiration;
 
+  // Built once, both are immutable and thread-safe
+  private Key signInKey;
+  private JwtParser jwtParser;
+
+  @PostConstruct
+  void init() {
+    byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+    signInKey = Keys.hmacShaKeyFor(keyBytes);
+    jwtParser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+  }
+
+  /**
+   * Verify the signature and expiry of a token and return its claims
+   */
+  public Claims parseClaims(String token) {
+    return jwtParser.parseClaimsJws(token).getBody();
+  }
+
   public String extractUsername(String token) {
     return extractClaim(token, Claims::getSubject);
   }
 
   public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
+    final Claims claims = parseClaims(token);
     return claimsResolver.apply(claims);
   }
 
@@ -64,34 +88,19 @@ public class JwtService {
             .setSubject(userDetails.getUsername())
             .setIssuedAt(new Date(System.currentTimeMillis()))
             .setExpiration(new Date(System.currentTimeMillis() + expiration))
-            .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+            .signWith(signInKey, SignatureAlgorithm.HS256)
             .compact();
   }
 
   public boolean isTokenValid(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    return isTokenValid(parseClaims(token), userDetails);
   }
 
-  private boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
-  }
-
-  private Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
-  }
-
-  private Claims extractAllClaims(String token) {
-    return Jwts
-        .parserBuilder()
-        .setSigningKey(getSignInKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
-  }
-
-  private Key getSignInKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-    return Keys.hmacShaKeyFor(keyBytes);
+  /**
+   * Check already verified claims against the user they were issued to
+   */
+  public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+    return userDetails.getUsername().equals(claims.getSubject())
+        && claims.getExpiration().after(new Date());
   }
 }
\ No newline at end of file
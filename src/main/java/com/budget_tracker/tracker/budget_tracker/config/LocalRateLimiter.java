@@ -0,0 +1,49 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.EstimationProbe;
+
+/**
+ * In-process buckets. The number of tracked clients is bounded and idle
+ * buckets expire, so memory does not grow with the number of distinct clients.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalRateLimiter(RateLimitProperties properties) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitRule rule, long tokens, long reserve) {
+        Bucket bucket = buckets.get(key, k -> Bucket.builder()
+                .addLimit(Bandwidth.simple(rule.capacity(), rule.period()))
+                .build());
+
+        if (reserve > 0) {
+            // Not atomic with the consumption below, concurrent requests may dip into the reserve slightly
+            EstimationProbe estimate = bucket.estimateAbilityToConsume(tokens + reserve);
+            if (!estimate.canBeConsumed()) {
+                return new RateLimitResult(false, estimate.getRemainingTokens(),
+                        TimeUnit.NANOSECONDS.toSeconds(estimate.getNanosToWaitForRefill()));
+            }
+        }
+
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(tokens);
+        return new RateLimitResult(
+                probe.isConsumed(),
+                probe.getRemainingTokens(),
+                TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()));
+    }
+}
@@ -1,21 +1,27 @@
 package com.budget_tracker.tracker.budget_tracker.config;
 
-import java.time.Duration;
-
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
+import lombok.RequiredArgsConstructor;
 
 @Configuration
+@RequiredArgsConstructor
 public class RateLimitConfig {
 
+    private final RateLimitProperties rateLimitProperties;
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.rate-limit", name = "mode", havingValue = "local", matchIfMissing = true)
+    public RateLimiter localRateLimiter() {
+        return new LocalRateLimiter(rateLimitProperties);
+    }
+
     @Bean
-    public Bucket createNewBucket() {
-        Bandwidth limit = Bandwidth.simple(100, Duration.ofMinutes(1));
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    @ConditionalOnProperty(prefix = "app.rate-limit", name = "mode", havingValue = "redis")
+    public RateLimiter redisRateLimiter(StringRedisTemplate redisTemplate) {
+        return new RedisRateLimiter(redisTemplate, rateLimitProperties);
     }
-} 
\ No newline at end of file
+}
@@ -1,42 +1,140 @@
 package com.budget_tracker.tracker.budget_tracker.config;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
+import com.budget_tracker.tracker.budget_tracker.config.RateLimitProperties.Priority;
+import com.budget_tracker.tracker.budget_tracker.config.RateLimiter.RateLimitResult;
+import com.budget_tracker.tracker.budget_tracker.config.RateLimiter.RateLimitRule;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.AuthenticatedUser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Limits requests per client: the authenticated user when there is one,
+ * otherwise the client IP. Runs after the security filter chain so the
+ * principal is known.
+ *
+ * Requests take a route dependent number of tokens. Routes in a lower
+ * priority class must leave part of the bucket untouched, so heavy requests
+ * are rejected first and interactive ones keep working on the remainder.
+ */
 @Component
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final Bucket bucket;
+    private static final String DEFAULT_ROUTE = "default";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final Route defaultRoute;
+    private final List<Route> routes;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+
+        RateLimitRule defaultBucket = new RateLimitRule(DEFAULT_ROUTE, properties.getCapacity(), properties.getPeriod());
+        this.defaultRoute = new Route(DEFAULT_ROUTE, null, Set.of(), defaultBucket, 1, Priority.INTERACTIVE, 0, meterRegistry);
+
+        this.routes = new ArrayList<>();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            RateLimitRule bucket = route.getCapacity() > 0
+                    ? new RateLimitRule(route.getName(), route.getCapacity(), route.getPeriod())
+                    : defaultBucket;
+            long reserve = (long) Math.ceil(bucket.capacity() * properties.getReserves().getOrDefault(route.getPriority(), 0.0));
+            Set<String> methods = route.getMethods().stream().map(String::toUpperCase).collect(Collectors.toSet());
+            routes.add(new Route(route.getName(), PathPatternParser.defaultInstance.parse(route.getPattern()), methods,
+                    bucket, route.getCost(), route.getPriority(), reserve, meterRegistry));
+        }
+    }
 
-    public RateLimitFilter(Bucket bucket) {
-        this.bucket = bucket;
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled();
     }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
             throws ServletException, IOException {
-        
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-        
-        if (probe.isConsumed()) {
-            response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
+
+        Route route = resolveRoute(request);
+        RateLimitResult result = rateLimiter.tryConsume(
+                route.bucket().name() + ":" + resolveClient(request), route.bucket(), route.cost(), route.reserve());
+
+        if (result.allowed()) {
+            route.consumed().increment(route.cost());
+            response.addHeader("X-Rate-Limit-Remaining", String.valueOf(result.remainingTokens()));
             filterChain.doFilter(request, response);
         } else {
+            route.rejected().increment(route.cost());
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            response.addHeader("X-Rate-Limit-Retry-After-Seconds", String.valueOf(TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill())));
+            response.addHeader(HttpHeaders.RETRY_AFTER, String.valueOf(result.retryAfterSeconds()));
+            response.addHeader("X-Rate-Limit-Retry-After-Seconds", String.valueOf(result.retryAfterSeconds()));
             response.getWriter().write("Too many requests");
         }
     }
-} 
\ No newline at end of file
+
+    private Route resolveRoute(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return defaultRoute;
+        }
+
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Route route : routes) {
+            if ((route.methods().isEmpty() || route.methods().contains(request.getMethod()))
+                    && route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return defaultRoute;
+    }
+
+    // The remote address honours X-Forwarded-For only when server.forward-headers-strategy is set
+    private String resolveClient(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.id();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record Route(String name, PathPattern pattern, Set<String> methods, RateLimitRule bucket,
+            long cost, Priority priority, long reserve, Counter consumed, Counter rejected) {
+
+        Route(String name, PathPattern pattern, Set<String> methods, RateLimitRule bucket,
+                long cost, Priority priority, long reserve, MeterRegistry meterRegistry) {
+            this(name, pattern, methods, bucket, cost, priority, reserve,
+                    tokens(meterRegistry, name, priority, "consumed"),
+                    tokens(meterRegistry, name, priority, "rejected"));
+        }
+
+        // Tokens per route and priority class
+        private static Counter tokens(MeterRegistry meterRegistry, String route, Priority priority, String outcome) {
+            return Counter.builder("rate_limit.tokens")
+                    .tag("route", route)
+                    .tag("class", priority.name().toLowerCase())
+                    .tag("outcome", outcome)
+                    .description("Rate limit tokens requested")
+                    .register(meterRegistry);
+        }
+    }
+}
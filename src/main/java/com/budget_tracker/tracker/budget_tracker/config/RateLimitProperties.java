@@ -0,0 +1,79 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // LOCAL keeps buckets per node, REDIS shares them across all nodes
+    private Mode mode = Mode.LOCAL;
+
+    // Requests per period allowed for routes without their own limit
+    private long capacity = 100;
+
+    private Duration period = Duration.ofMinutes(1);
+
+    // Routes with their own cost, priority or limit, the first match wins
+    private List<Route> routes = new ArrayList<>();
+
+    // Share of the bucket a priority class may not use, so lower classes are
+    // throttled while higher ones still have tokens left
+    private Map<Priority, Double> reserves = new EnumMap<>(Map.of(
+            Priority.INTERACTIVE, 0.0,
+            Priority.ANALYTICS, 0.25,
+            Priority.BULK, 0.5));
+
+    // Most clients tracked at once per node in LOCAL mode
+    private int maxKeys = 100_000;
+
+    // Buckets of clients idle for longer than this are dropped
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private String redisKeyPrefix = "budget-tracker:rate-limit:";
+
+    public enum Mode {
+        LOCAL,
+        REDIS
+    }
+
+    public enum Priority {
+        INTERACTIVE,
+        ANALYTICS,
+        BULK
+    }
+
+    @Data
+    public static class Route {
+
+        private String name;
+
+        // Path pattern relative to the context path, e.g. /export/**
+        private String pattern;
+
+        // HTTP methods the route applies to, all when empty
+        private List<String> methods = new ArrayList<>();
+
+        // Tokens consumed by one request
+        private long cost = 1;
+
+        private Priority priority = Priority.INTERACTIVE;
+
+        // Own bucket for the route, 0 to share the client's default bucket
+        private long capacity;
+
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
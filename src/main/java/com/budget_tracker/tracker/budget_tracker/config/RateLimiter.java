@@ -0,0 +1,21 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import java.time.Duration;
+
+/**
+ * Token buckets keyed by client. Each bucket holds up to the capacity of its
+ * rule and refills completely over the rule's period.
+ */
+public interface RateLimiter {
+
+    /**
+     * Take tokens from a bucket, only if at least reserve tokens are left afterwards
+     */
+    RateLimitResult tryConsume(String key, RateLimitRule rule, long tokens, long reserve);
+
+    record RateLimitRule(String name, long capacity, Duration period) {
+    }
+
+    record RateLimitResult(boolean allowed, long remainingTokens, long retryAfterSeconds) {
+    }
+}
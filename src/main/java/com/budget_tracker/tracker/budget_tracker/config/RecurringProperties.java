@@ -0,0 +1,25 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.recurring")
+public class RecurringProperties {
+
+    // Schedules posted together, each chunk in its own transaction
+    private int chunkSize = 500;
+
+    // Due schedules are split by user into this many shards, each leased and run on its own
+    // so that nodes can share a run
+    private int shards = 1;
+
+    // Most days a run goes back to post occurrences missed while the app was down
+    private int maxCatchUpDays = 31;
+
+    // Post missed occurrences when the app starts instead of at the next midnight run
+    private boolean catchUpOnStartup = true;
+}
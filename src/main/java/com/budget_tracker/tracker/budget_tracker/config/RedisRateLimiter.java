@@ -0,0 +1,74 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import java.util.List;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buckets stored in Redis so a limit holds across all nodes. Refill and
+ * consumption happen atomically in a Lua script using the Redis clock.
+ * If Redis is unreachable requests are let through.
+ */
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    // Returns {allowed, remaining tokens, milliseconds until enough tokens}
+    private static final RedisScript<List> TOKEN_BUCKET = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local period_ms = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3])
+            local reserve = tonumber(ARGV[4])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil then
+                tokens = capacity
+                ts = now
+            end
+            local rate = capacity / period_ms
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local allowed = 0
+            local wait_ms = 0
+            if tokens - requested >= reserve then
+                tokens = tokens - requested
+                allowed = 1
+            else
+                wait_ms = math.ceil((requested + reserve - tokens) / rate)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], period_ms)
+            return {allowed, math.floor(tokens), wait_ms}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = properties.getRedisKeyPrefix();
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitRule rule, long tokens, long reserve) {
+        try {
+            List<?> result = redisTemplate.execute(TOKEN_BUCKET, List.of(keyPrefix + key),
+                    String.valueOf(rule.capacity()),
+                    String.valueOf(rule.period().toMillis()),
+                    String.valueOf(tokens),
+                    String.valueOf(reserve));
+
+            boolean allowed = ((Number) result.get(0)).longValue() == 1;
+            long remaining = ((Number) result.get(1)).longValue();
+            long waitMs = ((Number) result.get(2)).longValue();
+            return new RateLimitResult(allowed, remaining, (waitMs + 999) / 1000);
+        } catch (RuntimeException e) {
+            log.warn("Rate limiter unavailable, allowing request: {}", e.getMessage());
+            return new RateLimitResult(true, rule.capacity(), 0);
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.budget_tracker.tracker.budget_tracker.config;
 
+import java.time.LocalDate;
+
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
-import com.budget_tracker.tracker.budget_tracker.services.transaction.RecurringTransactionService;
+import com.budget_tracker.tracker.budget_tracker.services.email.EmailOutboxProcessor;
+import com.budget_tracker.tracker.budget_tracker.services.export.ExportJobService;
+import com.budget_tracker.tracker.budget_tracker.services.scheduling.ScheduledJobRunner;
+import com.budget_tracker.tracker.budget_tracker.services.transaction.RecurringTransactionProcessor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,20 +20,50 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SchedulingConfig {
 
-    private final RecurringTransactionService recurringTransactionService;
+    private final RecurringTransactionProcessor recurringTransactionProcessor;
+    private final ExportJobService exportJobService;
+    private final EmailOutboxProcessor emailOutboxProcessor;
+    private final ScheduledJobRunner scheduledJobRunner;
     
     /**
      * Scheduled task that runs at midnight every day to process recurring transactions
-     * that are due for the current day.
+     * that are due for the current day, and any days missed since the last run.
+     * Fires on every node; each shard of the run is leased by the first node to get it.
      */
     @Scheduled(cron = "0 0 0 * * ?") // Runs at midnight every day
     public void processRecurringTransactions() {
         log.info("Starting scheduled job to process recurring transactions");
         try {
-            recurringTransactionService.processRecurringTransactions();
+            recurringTransactionProcessor.run(LocalDate.now());
             log.info("Recurring transactions processed successfully");
         } catch (Exception e) {
             log.error("Error processing recurring transactions: {}", e.getMessage(), e);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Scheduled task that removes expired export files and fails export jobs
+     * that did not finish in time. Runs on the node that gets the lease.
+     */
+    @Scheduled(fixedDelayString = "${app.export.cleanup-interval-ms:900000}")
+    public void cleanupExportJobs() {
+        try {
+            scheduledJobRunner.runExclusive("export-cleanup", null, exportJobService::cleanupExpiredJobs);
+        } catch (Exception e) {
+            log.error("Error cleaning up export jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Scheduled task that sends due emails from the outbox, including retries.
+     * New emails also wake the workers right after they are committed.
+     */
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval-ms:5000}")
+    public void processEmailOutbox() {
+        try {
+            emailOutboxProcessor.poll();
+        } catch (Exception e) {
+            log.error("Error processing email outbox: {}", e.getMessage(), e);
+        }
+    }
+}
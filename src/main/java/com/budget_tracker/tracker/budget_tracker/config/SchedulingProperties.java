@@ -0,0 +1,21 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.scheduling")
+public class SchedulingProperties {
+
+    // Name of this node in leases and job history; the host name and process id when empty
+    private String nodeId;
+
+    // Longest a lease is held, so a node that dies mid-run doesn't block the job for good
+    private long leaseMaxSeconds = 3600;
+
+    // Shortest a lease is held, so nodes whose clocks are a little behind skip a run that just finished
+    private long leaseMinSeconds = 300;
+}
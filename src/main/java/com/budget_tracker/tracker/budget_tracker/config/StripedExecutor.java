@@ -0,0 +1,79 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs tasks on a fixed set of single threaded workers. Tasks with the same key
+ * always run on the same worker, in submission order; tasks with different keys
+ * run in parallel. A full queue blocks the submitter instead of dropping tasks.
+ */
+@Slf4j
+public class StripedExecutor implements AutoCloseable {
+
+    private final List<ThreadPoolExecutor> stripes;
+
+    public StripedExecutor(String name, int stripeCount, int queueCapacity, MeterRegistry meterRegistry) {
+        stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            ThreadPoolExecutor stripe = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    new CustomizableThreadFactory(name + "-" + i + "-"),
+                    StripedExecutor::waitForCapacity);
+            stripes.add(stripe);
+
+            Gauge.builder("striped.executor.queue.depth", stripe, executor -> executor.getQueue().size())
+                    .tag("executor", name)
+                    .tag("stripe", String.valueOf(i))
+                    .description("Tasks waiting for a worker")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Run a task after all tasks previously submitted with the same key
+     */
+    public void execute(Object key, Runnable task) {
+        stripes.get(Math.floorMod(key.hashCode(), stripes.size())).execute(task);
+    }
+
+    /**
+     * Stop accepting tasks and wait for the queued ones to finish
+     */
+    @Override
+    public void close() {
+        stripes.forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor stripe : stripes) {
+            try {
+                if (!stripe.awaitTermination(30, TimeUnit.SECONDS)) {
+                    log.warn("Dropping {} queued tasks on shutdown", stripe.shutdownNow().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void waitForCapacity(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for queue capacity", e);
+        }
+    }
+}
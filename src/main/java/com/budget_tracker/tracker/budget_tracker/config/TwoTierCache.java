@@ -0,0 +1,159 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.RedisCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache with an in-process Caffeine tier in front of a shared Redis tier.
+ * Reads are served locally when possible and fill the local tier from Redis.
+ * Writes and evictions go to both tiers and are announced to the other nodes,
+ * which drop their local copy. If Redis is unreachable the cache keeps working
+ * on the local tier only.
+ */
+@Slf4j
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final CaffeineCache localCache;
+    private final RedisCache remoteCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public TwoTierCache(String name, CaffeineCache localCache, RedisCache remoteCache,
+            CacheInvalidationPublisher invalidationPublisher) {
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    public CaffeineCache getLocalCache() {
+        return localCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String cacheKey = normalize(key);
+        ValueWrapper value = localCache.get(cacheKey);
+        if (value != null) {
+            return value;
+        }
+
+        value = getRemote(cacheKey);
+        if (value != null) {
+            localCache.put(cacheKey, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null || value.get() == null) {
+            return null;
+        }
+        if (type != null && !type.isInstance(value.get())) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value.get());
+        }
+        return (T) value.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = normalize(key);
+        // The local tier serializes concurrent loads of the same key on this node
+        return localCache.get(cacheKey, () -> {
+            ValueWrapper remote = getRemote(cacheKey);
+            if (remote != null) {
+                return (T) remote.get();
+            }
+
+            T value = valueLoader.call();
+            putRemote(cacheKey, value);
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = normalize(key);
+        putRemote(cacheKey, value);
+        localCache.put(cacheKey, value);
+        invalidationPublisher.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = normalize(key);
+        try {
+            remoteCache.evict(cacheKey);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict {} from Redis cache {}: {}", cacheKey, name, e.getMessage());
+        }
+        localCache.evict(cacheKey);
+        invalidationPublisher.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            remoteCache.clear();
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear Redis cache {}: {}", name, e.getMessage());
+        }
+        localCache.clear();
+        invalidationPublisher.publishClear(name);
+    }
+
+    /**
+     * Drop a key from the local tier after another node changed it
+     */
+    public void evictLocal(String key) {
+        localCache.evict(key);
+    }
+
+    /**
+     * Drop the local tier after another node cleared the cache
+     */
+    public void clearLocal() {
+        localCache.clear();
+    }
+
+    private ValueWrapper getRemote(String key) {
+        try {
+            return remoteCache.get(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read {} from Redis cache {}: {}", key, name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(String key, Object value) {
+        try {
+            remoteCache.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} to Redis cache {}: {}", key, name, e.getMessage());
+        }
+    }
+
+    // Both tiers and the invalidation messages use the same string form of the key
+    private String normalize(Object key) {
+        return String.valueOf(key);
+    }
+}
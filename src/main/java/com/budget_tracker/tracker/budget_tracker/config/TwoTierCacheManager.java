@@ -0,0 +1,60 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache manager combining a local Caffeine cache and a Redis cache per name.
+ * Local caches use the same specs as the single-node setup.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    private final CacheProperties cacheProperties;
+    private final RedisCacheManager redisCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public TwoTierCacheManager(CacheProperties cacheProperties, RedisCacheManager redisCacheManager,
+            CacheInvalidationPublisher invalidationPublisher) {
+        this.cacheProperties = cacheProperties;
+        this.redisCacheManager = redisCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        invalidationPublisher.setCacheManager(this);
+        cacheProperties.getSpecs().keySet().forEach(this::getCache);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Get a cache only if it was already created on this node
+     */
+    public TwoTierCache getExistingCache(String name) {
+        return caches.get(name);
+    }
+
+    private TwoTierCache createCache(String name) {
+        String spec = cacheProperties.getSpecs().getOrDefault(name, cacheProperties.getDefaultSpec());
+        CaffeineCache localCache = new CaffeineCache(name, Caffeine.from(spec).recordStats().build());
+        RedisCache remoteCache = (RedisCache) redisCacheManager.getCache(name);
+        return new TwoTierCache(name, localCache, remoteCache, invalidationPublisher);
+    }
+}
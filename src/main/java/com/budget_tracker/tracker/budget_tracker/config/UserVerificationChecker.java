@@ -3,8 +3,8 @@ package com.budget_tracker.tracker.budget_tracker.config;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import com.budget_tracker.tracker.budget_tracker.entity.User;
 import com.budget_tracker.tracker.budget_tracker.exception.common.UnauthorizedException;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.AuthenticatedUser;
 
 @Component
 public class UserVerificationChecker {
@@ -16,8 +16,7 @@ public class UserVerificationChecker {
      * @throws UnauthorizedException if the user is not verified
      */
     public void checkUserVerified(Authentication authentication) {
-        if (authentication != null && authentication.getPrincipal() instanceof User) {
-            User user = (User) authentication.getPrincipal();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
             if (!user.isEnabled()) {
                 throw new UnauthorizedException(
                         "Account not verified. Please verify your email before accessing this resource.");
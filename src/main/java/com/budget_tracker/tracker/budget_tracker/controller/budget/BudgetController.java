@@ -16,9 +16,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.budget_tracker.tracker.budget_tracker.controller.budget.dto.BudgetResponse;
 import com.budget_tracker.tracker.budget_tracker.controller.budget.dto.CreateBudgetRequest;
 import com.budget_tracker.tracker.budget_tracker.controller.budget.dto.UpdateBudgetRequest;
-import com.budget_tracker.tracker.budget_tracker.entity.Budget;
 import com.budget_tracker.tracker.budget_tracker.services.budget.BudgetService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -49,19 +49,19 @@ public class BudgetController {
     }
 
     @GetMapping()
-    public ResponseEntity<List<Budget>> getAllBudgets(HttpServletRequest httpRequest) {
+    public ResponseEntity<List<BudgetResponse>> getAllBudgets(HttpServletRequest httpRequest) {
         String userEmail = (String) httpRequest.getAttribute("userEmail");
         return ResponseEntity.ok(budgetService.getBudgets(userEmail));
     }
     
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<Budget>> getBudgetsByCategory(@PathVariable Long categoryId, HttpServletRequest httpRequest) {
+    public ResponseEntity<List<BudgetResponse>> getBudgetsByCategory(@PathVariable Long categoryId, HttpServletRequest httpRequest) {
         String userEmail = (String) httpRequest.getAttribute("userEmail");
         return ResponseEntity.ok(budgetService.getBudgetsByCategory(categoryId, userEmail));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Budget> getBudgetById(@PathVariable Long id, HttpServletRequest httpRequest) {
+    public ResponseEntity<BudgetResponse> getBudgetById(@PathVariable Long id, HttpServletRequest httpRequest) {
         String userEmail = (String) httpRequest.getAttribute("userEmail");
         return ResponseEntity.ok(budgetService.getBudgetById(id, userEmail));
     }
@@ -0,0 +1,34 @@
+package com.budget_tracker.tracker.budget_tracker.controller.budget.dto;
+
+import java.time.LocalDateTime;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private Double amount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private CategoryItem category;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CategoryItem {
+        private Long id;
+        private String name;
+        private String description;
+        private CategoryType type;
+    }
+}
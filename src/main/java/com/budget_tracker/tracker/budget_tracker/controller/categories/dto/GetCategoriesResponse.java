@@ -1,5 +1,6 @@
 package com.budget_tracker.tracker.budget_tracker.controller.categories.dto;
 
+import java.io.Serializable;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
@@ -7,14 +8,14 @@ import lombok.Data;
 
 @Data
 @AllArgsConstructor
-public class GetCategoriesResponse {
+public class GetCategoriesResponse implements Serializable {
 
     private List<CategoryItem> list;
     private Metadata metadata;
 
     @Data
     @AllArgsConstructor
-    public static class Metadata {
+    public static class Metadata implements Serializable {
 
         private long totalItems;
         private int totalPages;
@@ -24,7 +25,7 @@ public class GetCategoriesResponse {
 
     @Data
     @AllArgsConstructor
-    public static class CategoryItem {
+    public static class CategoryItem implements Serializable {
 
         private Long id;
         private String name;
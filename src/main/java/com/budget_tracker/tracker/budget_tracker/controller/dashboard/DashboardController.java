@@ -1,7 +1,12 @@
 package com.budget_tracker.tracker.budget_tracker.controller.dashboard;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,9 +19,11 @@ import org.springframework.web.bind.annotation.RestController;
 import com.budget_tracker.tracker.budget_tracker.controller.dashboard.dto.CategoryStatsDTO;
 import com.budget_tracker.tracker.budget_tracker.controller.dashboard.dto.DashboardSummaryResponse;
 import com.budget_tracker.tracker.budget_tracker.controller.dashboard.dto.DateRangeDTO;
+import com.budget_tracker.tracker.budget_tracker.controller.dashboard.dto.RollupRebuildResponse;
 import com.budget_tracker.tracker.budget_tracker.controller.dashboard.dto.SpendingTrendsResponse;
 import com.budget_tracker.tracker.budget_tracker.controller.dashboard.dto.UserStatsDTO;
 import com.budget_tracker.tracker.budget_tracker.services.dashboard.DashboardService;
+import com.budget_tracker.tracker.budget_tracker.services.dashboard.SpendingRollupService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +34,7 @@ import lombok.RequiredArgsConstructor;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final SpendingRollupService spendingRollupService;
 
     /**
      * Get the user's dashboard summary
@@ -79,8 +87,9 @@ public class DashboardController {
      */
     @GetMapping("/admin/user-stats")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<List<UserStatsDTO>> getUserStats() {
-        List<UserStatsDTO> response = dashboardService.getAllUserStats(null);
+    public ResponseEntity<Page<UserStatsDTO>> getUserStats(
+            @PageableDefault(size = 50, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<UserStatsDTO> response = dashboardService.getAllUserStats(null, pageable);
         return ResponseEntity.ok(response);
     }
     
@@ -89,9 +98,10 @@ public class DashboardController {
      */
     @PostMapping("/admin/user-stats")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<List<UserStatsDTO>> getUserStatsWithDateRange(
-            @RequestBody DateRangeDTO dateRange) {
-        List<UserStatsDTO> response = dashboardService.getAllUserStats(dateRange);
+    public ResponseEntity<Page<UserStatsDTO>> getUserStatsWithDateRange(
+            @RequestBody DateRangeDTO dateRange,
+            @PageableDefault(size = 50, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<UserStatsDTO> response = dashboardService.getAllUserStats(dateRange, pageable);
         return ResponseEntity.ok(response);
     }
     
@@ -135,4 +145,17 @@ public class DashboardController {
         SpendingTrendsResponse response = dashboardService.getSpendingTrends(userEmail);
         return ResponseEntity.ok(response);
     }
+    
+    /**
+     * Admin endpoint to recompute the monthly spending rollup from all transactions
+     */
+    @PostMapping("/admin/rollup/rebuild")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<RollupRebuildResponse> rebuildSpendingRollup() {
+        int rowsWritten = spendingRollupService.rebuild();
+        return ResponseEntity.ok(RollupRebuildResponse.builder()
+                .rowsWritten(rowsWritten)
+                .rebuiltAt(LocalDateTime.now())
+                .build());
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.budget_tracker.tracker.budget_tracker.controller.export;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.budget_tracker.tracker.budget_tracker.controller.export.dto.CreateExportJobRequest;
+import com.budget_tracker.tracker.budget_tracker.controller.export.dto.ExportJobResponse;
+import com.budget_tracker.tracker.budget_tracker.entity.ExportJob;
+import com.budget_tracker.tracker.budget_tracker.enums.ExportFormat;
+import com.budget_tracker.tracker.budget_tracker.services.export.ExportJobService;
+import com.budget_tracker.tracker.budget_tracker.services.export.ExportService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ExportService exportService;
+    private final ExportJobService exportJobService;
+
+    /**
+     * Stream the user's transactions as CSV
+     */
+    @GetMapping("/transactions/csv")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsToCSV(HttpServletRequest httpRequest) {
+        String userEmail = (String) httpRequest.getAttribute("userEmail");
+        StreamingResponseBody body = out -> exportService.writeTransactionsToCSV(userEmail, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions.csv")
+                .contentType(TEXT_CSV)
+                .body(body);
+    }
+
+    /**
+     * Get the user's budgets as CSV
+     */
+    @GetMapping("/budgets/csv")
+    public ResponseEntity<InputStreamResource> exportBudgetsToCSV(HttpServletRequest httpRequest) {
+        String userEmail = (String) httpRequest.getAttribute("userEmail");
+        return file(exportService.exportBudgetsToCSV(userEmail), "budgets.csv", TEXT_CSV);
+    }
+
+    /**
+     * Get the user's goals as CSV
+     */
+    @GetMapping("/goals/csv")
+    public ResponseEntity<InputStreamResource> exportGoalsToCSV(HttpServletRequest httpRequest) {
+        String userEmail = (String) httpRequest.getAttribute("userEmail");
+        return file(exportService.exportGoalsToCSV(userEmail), "goals.csv", TEXT_CSV);
+    }
+
+    /**
+     * Queue an export job. CSV and PDF exports of any resource are generated
+     * in the background; poll the job and download the file once it completes.
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ExportJobResponse> createExportJob(
+            @RequestBody CreateExportJobRequest request,
+            HttpServletRequest httpRequest) {
+        String userEmail = (String) httpRequest.getAttribute("userEmail");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportJobService.submitJob(request, userEmail));
+    }
+
+    /**
+     * Get the user's recent export jobs
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<List<ExportJobResponse>> getExportJobs(HttpServletRequest httpRequest) {
+        String userEmail = (String) httpRequest.getAttribute("userEmail");
+        return ResponseEntity.ok(exportJobService.getRecentJobs(userEmail));
+    }
+
+    /**
+     * Get the status and progress of an export job
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ExportJobResponse> getExportJob(@PathVariable String id, HttpServletRequest httpRequest) {
+        String userEmail = (String) httpRequest.getAttribute("userEmail");
+        return ResponseEntity.ok(exportJobService.getJob(id, userEmail));
+    }
+
+    /**
+     * Download the file of a completed export job
+     */
+    @GetMapping("/jobs/{id}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String id, HttpServletRequest httpRequest) {
+        String userEmail = (String) httpRequest.getAttribute("userEmail");
+        ExportJob job = exportJobService.findUserJob(id, userEmail);
+        Resource artifact = exportJobService.getArtifact(job);
+        MediaType type = job.getFormat() == ExportFormat.PDF ? MediaType.APPLICATION_PDF : TEXT_CSV;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + exportJobService.getFileName(job))
+                .contentType(type)
+                .contentLength(job.getFileSize())
+                .body(artifact);
+    }
+
+    private ResponseEntity<InputStreamResource> file(ByteArrayInputStream content, String filename, MediaType type) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(type)
+                .body(new InputStreamResource(content));
+    }
+}
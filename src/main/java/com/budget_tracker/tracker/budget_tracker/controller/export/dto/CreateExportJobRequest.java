@@ -0,0 +1,20 @@
+package com.budget_tracker.tracker.budget_tracker.controller.export.dto;
+
+import com.budget_tracker.tracker.budget_tracker.enums.ExportFormat;
+import com.budget_tracker.tracker.budget_tracker.enums.ExportResource;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreateExportJobRequest {
+
+    private ExportResource resource;
+
+    private ExportFormat format;
+}
@@ -0,0 +1,32 @@
+package com.budget_tracker.tracker.budget_tracker.controller.export.dto;
+
+import java.time.LocalDateTime;
+
+import com.budget_tracker.tracker.budget_tracker.enums.ExportFormat;
+import com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus;
+import com.budget_tracker.tracker.budget_tracker.enums.ExportResource;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExportJobResponse {
+    private String id;
+    private ExportResource resource;
+    private ExportFormat format;
+    private ExportJobStatus status;
+    private Integer progress;
+    private Long processedRows;
+    private Long totalRows;
+    private Long fileSize;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+}
@@ -20,9 +20,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.budget_tracker.tracker.budget_tracker.controller.goal.dto.CreateGoalRequest;
+import com.budget_tracker.tracker.budget_tracker.controller.goal.dto.GoalResponse;
 import com.budget_tracker.tracker.budget_tracker.controller.goal.dto.UpdateGoalProgressRequest;
 import com.budget_tracker.tracker.budget_tracker.controller.goal.dto.UpdateGoalRequest;
-import com.budget_tracker.tracker.budget_tracker.entity.Goal;
 import com.budget_tracker.tracker.budget_tracker.enums.GoalStatus;
 import com.budget_tracker.tracker.budget_tracker.services.goal.GoalService;
 
@@ -58,13 +58,13 @@ public class GoalController {
     }
 
     @GetMapping()
-    public ResponseEntity<List<Goal>> getAllGoals(HttpServletRequest httpRequest) {
+    public ResponseEntity<List<GoalResponse>> getAllGoals(HttpServletRequest httpRequest) {
         String userEmail = (String) httpRequest.getAttribute("userEmail");
         return ResponseEntity.ok(goalService.getAllGoals(userEmail));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Goal> getGoalById(
+    public ResponseEntity<GoalResponse> getGoalById(
             @PathVariable Long id, HttpServletRequest httpRequest) {
         
         String userEmail = (String) httpRequest.getAttribute("userEmail");
@@ -72,7 +72,7 @@ public class GoalController {
     }
     
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Goal>> getGoalsByStatus(
+    public ResponseEntity<List<GoalResponse>> getGoalsByStatus(
             @PathVariable GoalStatus status, HttpServletRequest httpRequest) {
         
         String userEmail = (String) httpRequest.getAttribute("userEmail");
@@ -80,7 +80,7 @@ public class GoalController {
     }
     
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<Goal>> getGoalsByCategory(
+    public ResponseEntity<List<GoalResponse>> getGoalsByCategory(
             @PathVariable Long categoryId, HttpServletRequest httpRequest) {
         
         String userEmail = (String) httpRequest.getAttribute("userEmail");
@@ -119,7 +119,7 @@ public class GoalController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<Goal>> searchGoals(
+    public ResponseEntity<Page<GoalResponse>> searchGoals(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) Long categoryId,
@@ -132,13 +132,13 @@ public class GoalController {
     }
     
     @PutMapping("/{id}/progress")
-    public ResponseEntity<Goal> updateGoalProgress(
+    public ResponseEntity<GoalResponse> updateGoalProgress(
             @PathVariable Long id,
             @RequestBody UpdateGoalProgressRequest request,
             HttpServletRequest httpRequest) {
         
         String userEmail = (String) httpRequest.getAttribute("userEmail");
-        Goal updatedGoal = goalService.updateGoalProgress(id, request.getAmount(), userEmail);
+        GoalResponse updatedGoal = goalService.updateGoalProgress(id, request.getAmount(), userEmail);
         return ResponseEntity.ok(updatedGoal);
     }
 } 
\ No newline at end of file
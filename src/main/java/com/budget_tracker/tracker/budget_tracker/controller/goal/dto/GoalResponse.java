@@ -0,0 +1,38 @@
+package com.budget_tracker.tracker.budget_tracker.controller.goal.dto;
+
+import java.time.LocalDateTime;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+import com.budget_tracker.tracker.budget_tracker.enums.GoalStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private Double targetAmount;
+    private Double currentAmount;
+    private LocalDateTime targetDate;
+    private GoalStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private CategoryItem category;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CategoryItem {
+        private Long id;
+        private String name;
+        private String description;
+        private CategoryType type;
+    }
+}
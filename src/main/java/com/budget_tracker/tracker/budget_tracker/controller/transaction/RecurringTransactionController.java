@@ -20,8 +20,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.CreateRecurringTransactionRequest;
+import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.RecurringTransactionResponse;
 import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.UpdateRecurringTransactionRequest;
-import com.budget_tracker.tracker.budget_tracker.entity.RecurringTransaction;
 import com.budget_tracker.tracker.budget_tracker.services.transaction.RecurringTransactionService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -56,13 +56,13 @@ public class RecurringTransactionController {
     }
 
     @GetMapping()
-    public ResponseEntity<List<RecurringTransaction>> getAllRecurringTransactions(HttpServletRequest httpRequest) {
+    public ResponseEntity<List<RecurringTransactionResponse>> getAllRecurringTransactions(HttpServletRequest httpRequest) {
         String userEmail = (String) httpRequest.getAttribute("userEmail");
         return ResponseEntity.ok(recurringTransactionService.getAllRecurringTransactions(userEmail));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RecurringTransaction> getRecurringTransactionById(
+    public ResponseEntity<RecurringTransactionResponse> getRecurringTransactionById(
             @PathVariable Long id, HttpServletRequest httpRequest) {
         
         String userEmail = (String) httpRequest.getAttribute("userEmail");
@@ -101,7 +101,7 @@ public class RecurringTransactionController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<RecurringTransaction>> searchRecurringTransactions(
+    public ResponseEntity<Page<RecurringTransactionResponse>> searchRecurringTransactions(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) Boolean active,
@@ -3,6 +3,7 @@ package com.budget_tracker.tracker.budget_tracker.controller.transaction;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -14,11 +15,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.CreateTransactionRequest;
 import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.GetTransactionRequest;
 import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.GetTransactionsResponse;
+import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.ImportTransactionsResponse;
+import com.budget_tracker.tracker.budget_tracker.services.transaction.TransactionImportService;
 import com.budget_tracker.tracker.budget_tracker.services.transaction.TransactionService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +35,7 @@ import lombok.RequiredArgsConstructor;
 public class TransactionsController {
 
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
 
     @PostMapping()
     public ResponseEntity<Object> createNewTransaction(@RequestBody CreateTransactionRequest request, HttpServletRequest httpRequest,
@@ -49,6 +55,20 @@ public class TransactionsController {
         return ResponseEntity.ok("Transaction created successfully");
     }
 
+    /**
+     * Import transactions from a CSV or JSON file. Invalid rows and duplicates
+     * are skipped and listed in the response; fuzzyWindowDays also skips rows
+     * that look like an existing transaction within that many days.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportTransactionsResponse> importTransactions(@RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) Integer fuzzyWindowDays,
+            HttpServletRequest httpRequest) {
+        String userEmail = (String) httpRequest.getAttribute("userEmail");
+
+        return ResponseEntity.ok(transactionImportService.importTransactions(file, userEmail, fuzzyWindowDays));
+    }
+
     @GetMapping()
     public ResponseEntity<GetTransactionsResponse> getAllTransactions(@ModelAttribute GetTransactionRequest param,
             HttpServletRequest httpRequest) {
@@ -3,6 +3,8 @@ package com.budget_tracker.tracker.budget_tracker.controller.transaction.dto;
 import java.time.LocalDate;
 
 import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+import com.budget_tracker.tracker.budget_tracker.enums.CountMode;
+import com.budget_tracker.tracker.budget_tracker.enums.PaginationMode;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
@@ -39,4 +41,14 @@ public class GetTransactionRequest {
     @Min(1)
     private Integer page = 1;
 
+    // KEYSET pages are always ordered by transactionDate DESC and ignore page, sortBy and orderBy
+    @Builder.Default
+    private PaginationMode pagination = PaginationMode.OFFSET;
+
+    // nextCursor of the previous KEYSET page, empty for the first page
+    private String cursor;
+
+    // Defaults to EXACT for OFFSET and NONE for KEYSET pagination
+    private CountMode count;
+
 }
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 
 @Data
@@ -14,13 +15,18 @@ public class GetTransactionsResponse {
     private Metadata metadata;
 
     @Data
+    @Builder
     @AllArgsConstructor
     public static class Metadata {
 
-        private long totalItems;
-        private int totalPages;
-        private int currentPage;
+        // Null when the count was skipped; a lower bound when totalEstimated is set
+        private Long totalItems;
+        private Integer totalPages;
+        private Boolean totalEstimated;
+        private Integer currentPage;
         private int limit;
+        private boolean hasNext;
+        private String nextCursor;
     }
 
     @Data
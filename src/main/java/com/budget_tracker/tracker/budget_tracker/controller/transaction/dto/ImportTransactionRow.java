@@ -0,0 +1,27 @@
+package com.budget_tracker.tracker.budget_tracker.controller.transaction.dto;
+
+import java.time.LocalDateTime;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportTransactionRow {
+
+    private String description;
+
+    private Double amount;
+
+    private CategoryType type;
+
+    private LocalDateTime date;
+
+    private Long categoryId;
+}
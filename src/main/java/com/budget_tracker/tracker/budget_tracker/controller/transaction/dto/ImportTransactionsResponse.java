@@ -0,0 +1,33 @@
+package com.budget_tracker.tracker.budget_tracker.controller.transaction.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportTransactionsResponse {
+
+    private long received;
+    private long imported;
+    private long failed;
+    // Rows matching a transaction that already exists or appears earlier in the file
+    private long duplicates;
+    // Capped at app.import.max-reported-errors, failed and duplicates hold the full counts
+    private List<RowError> errors;
+    private List<RowError> duplicateRows;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+
+        // 1-based position of the row in the uploaded file, header excluded
+        private long row;
+        private String message;
+    }
+}
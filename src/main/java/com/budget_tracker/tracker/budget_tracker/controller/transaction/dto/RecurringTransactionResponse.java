@@ -0,0 +1,41 @@
+package com.budget_tracker.tracker.budget_tracker.controller.transaction.dto;
+
+import java.time.LocalDateTime;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+import com.budget_tracker.tracker.budget_tracker.enums.RecurrenceType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransactionResponse {
+    private Long id;
+    private Double amount;
+    private String description;
+    private CategoryType type;
+    private Integer dayOfMonth;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private RecurrenceType recurrenceType;
+    private boolean active;
+    private LocalDateTime nextRunAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private CategoryItem transactionCategory;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CategoryItem {
+        private Long id;
+        private String name;
+        private String description;
+        private CategoryType type;
+    }
+}
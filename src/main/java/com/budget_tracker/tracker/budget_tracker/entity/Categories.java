@@ -8,10 +8,12 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -32,6 +34,8 @@ import lombok.NoArgsConstructor;
 @Table(
         name = "categories"
 )
+// Categories are serialized through lazy proxies, leave out the proxy internals
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Categories {
 
     @Id
@@ -51,7 +55,7 @@ public class Categories {
     @Enumerated(EnumType.STRING)
     private CategoryType type;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     @JsonBackReference
     private User createdBy;
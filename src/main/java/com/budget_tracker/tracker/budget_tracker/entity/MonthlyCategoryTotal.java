@@ -0,0 +1,67 @@
+package com.budget_tracker.tracker.budget_tracker.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running total of a user's transactions for one month, category and type.
+ * Maintained incrementally on every transaction write.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "monthly_category_totals",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_monthly_category_totals_key",
+                columnNames = {"user_id", "period_start", "category_id", "type"})
+)
+public class MonthlyCategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    // First day of the month
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CategoryType type;
+
+    @Column(nullable = false)
+    private Double total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -14,9 +14,11 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -31,7 +33,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(
-        name = "recurring_transactions"
+        name = "recurring_transactions",
+        indexes = @Index(name = "idx_recurring_transactions_active_next_run", columnList = "active, next_run_at, id")
 )
 public class RecurringTransaction {
 
@@ -43,7 +46,7 @@ public class RecurringTransaction {
 
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "transaction_category", nullable = false)
     @JsonManagedReference
     private Categories transactionCategory;
@@ -70,7 +73,11 @@ public class RecurringTransaction {
 
     private boolean active;
 
-    @ManyToOne
+    // Start of the day of the next occurrence, advanced after each posting; null once the schedule has ended
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     @JsonBackReference
     private User createdBy;
@@ -0,0 +1,54 @@
+package com.budget_tracker.tracker.budget_tracker.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ledger of posted recurring transactions. The unique occurrence makes sure a
+ * schedule posts at most one transaction per due date, however often the
+ * processor runs or retries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "recurring_transaction_runs",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_recurring_transaction_runs_occurrence",
+                columnNames = {"recurring_transaction_id", "occurrence_date"})
+)
+public class RecurringTransactionRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recurring_transaction_id", nullable = false)
+    private Long recurringTransactionId;
+
+    @Column(name = "occurrence_date", nullable = false)
+    private LocalDate occurrenceDate;
+
+    // The posted transaction
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -1,6 +1,14 @@
 package com.budget_tracker.tracker.budget_tracker.entity;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
 
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -13,11 +21,15 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,7 +42,11 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(
-        name = "transactions"
+        name = "transactions",
+        indexes = {
+                @Index(name = "idx_transactions_created_by_date_id", columnList = "created_by, transaction_date DESC, id DESC"),
+                @Index(name = "idx_transactions_created_by_fingerprint", columnList = "created_by, fingerprint")
+        }
 )
 public class Transaction {
 
@@ -42,7 +58,7 @@ public class Transaction {
 
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "transactionCategory", nullable = false)
     @JsonManagedReference
     private Categories transactionCategory;
@@ -59,9 +75,42 @@ public class Transaction {
     @Column(name = "transaction_date")
     private LocalDateTime transactionDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     @JsonBackReference
     private User createdBy;
 
+    // Identifies copies of the same transaction, e.g. from a re-imported statement
+    @Column(length = 64)
+    private String fingerprint;
+
+    @PrePersist
+    @PreUpdate
+    public void updateFingerprint() {
+        this.fingerprint = fingerprintOf(createdBy != null ? createdBy.getId() : null, transactionDate, amount, description);
+    }
+
+    /**
+     * Get the fingerprint of a transaction: a SHA-256 of the user, date, amount
+     * and description, with case, Unicode forms and punctuation of the
+     * description normalized. Only the day of the transaction date counts, so
+     * entries with and without a time of day match.
+     */
+    public static String fingerprintOf(String userId, LocalDateTime transactionDate, Double amount, String description) {
+        String normalizedDescription = description == null ? "" : Normalizer.normalize(description, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+        String normalizedAmount = amount == null ? "" : BigDecimal.valueOf(amount).stripTrailingZeros().toPlainString();
+        LocalDate date = transactionDate != null ? transactionDate.toLocalDate() : null;
+        String value = userId + "|" + date + "|" + normalizedAmount + "|" + normalizedDescription;
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
 }
@@ -21,7 +21,6 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -81,10 +80,6 @@ public class User implements UserDetails {
     @OneToMany(mappedBy = "user")
     @JsonManagedReference
     private List<Achievement> achievements;
-    
-    @OneToOne(mappedBy = "user")
-    @JsonManagedReference
-    private UserProgress userProgress;
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
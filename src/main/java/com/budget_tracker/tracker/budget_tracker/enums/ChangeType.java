@@ -0,0 +1,7 @@
+package com.budget_tracker.tracker.budget_tracker.enums;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
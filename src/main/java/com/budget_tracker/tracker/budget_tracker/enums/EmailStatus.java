@@ -0,0 +1,8 @@
+package com.budget_tracker.tracker.budget_tracker.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.budget_tracker.tracker.budget_tracker.enums;
+
+public enum ExportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    EXPIRED
+}
@@ -0,0 +1,6 @@
+package com.budget_tracker.tracker.budget_tracker.enums;
+
+public enum ScheduledJobStatus {
+    SUCCEEDED,
+    FAILED
+}
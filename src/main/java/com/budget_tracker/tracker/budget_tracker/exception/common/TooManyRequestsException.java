@@ -0,0 +1,14 @@
+package com.budget_tracker.tracker.budget_tracker.exception.common;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    private static final String DEFAULT_MESSAGE = "Too many requests";
+
+    public TooManyRequestsException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -1,19 +1,46 @@
 package com.budget_tracker.tracker.budget_tracker.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.budget_tracker.tracker.budget_tracker.entity.Budget;
 import com.budget_tracker.tracker.budget_tracker.entity.Categories;
 import com.budget_tracker.tracker.budget_tracker.entity.User;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.BudgetRow;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.UserCount;
 
 public interface BudgetRepository extends JpaRepository<Budget, Number> {
 
+    // Returned columns of a budget and its category, for the reads below
+    String ROW_COLUMNS = "SELECT b.id AS id, b.name AS name, b.description AS description, b.amount AS amount, "
+            + "b.createdAt AS createdAt, b.updatedAt AS updatedAt, b.createdBy.id AS createdById, "
+            + "c.id AS categoryId, c.name AS categoryName, c.description AS categoryDescription, "
+            + "c.type AS categoryType "
+            + "FROM Budget b LEFT JOIN b.category c ";
+
+    // Budgets are exported with their category, fetched in the same query
+    @EntityGraph(attributePaths = "category")
     List<Budget> findAllByCreatedBy(User user); 
-    
-    List<Budget> findAllByCreatedByAndCategory(User user, Categories category);
+
+    @Query(ROW_COLUMNS + "WHERE b.createdBy = :user")
+    List<BudgetRow> findRowsByCreatedBy(@Param("user") User user);
+
+    @Query(ROW_COLUMNS + "WHERE b.createdBy = :user AND b.category = :category")
+    List<BudgetRow> findRowsByCreatedByAndCategory(@Param("user") User user, @Param("category") Categories category);
+
+    @Query(ROW_COLUMNS + "WHERE b.id = :id")
+    Optional<BudgetRow> findRowById(@Param("id") Long id);
     
     int countByCreatedBy(User user);
 
+    @Query("SELECT b.createdBy.id AS userId, COUNT(b) AS total FROM Budget b "
+            + "WHERE b.createdBy.id IN :userIds GROUP BY b.createdBy.id")
+    List<UserCount> countByUsers(@Param("userIds") Collection<String> userIds);
+
 }
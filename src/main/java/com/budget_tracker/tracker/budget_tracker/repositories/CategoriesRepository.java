@@ -1,12 +1,18 @@
 package com.budget_tracker.tracker.budget_tracker.repositories;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.budget_tracker.tracker.budget_tracker.entity.Categories;
+import com.budget_tracker.tracker.budget_tracker.entity.User;
 import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.CategoryUsageStats;
 
 public interface CategoriesRepository extends JpaRepository<Categories, Number> {
 
@@ -14,13 +20,40 @@ public interface CategoriesRepository extends JpaRepository<Categories, Number>
 
     boolean existsByName(String name);
 
-    boolean existsByNameAndType(String name, CategoryType type);
+    // Served by idx_categories_created_by_name_type
+    boolean existsByCreatedByAndNameAndType(User user, String name, CategoryType type);
 
     @Query(value = "SELECT * FROM categories c WHERE "
-            + "(:keyword IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND "
+            + "(:keyword IS NULL OR c.name ILIKE CONCAT('%', :keyword, '%')) AND "
             + "(:type IS NULL OR c.type = :type) AND "
             + "(:userId IS NULL OR c.created_by = :userId)",
             nativeQuery = true)
     Page<Categories> findByKeywordAndType(String keyword, String type, Pageable pageable, String userId);
 
+    // Keyword search ranked by the best matching word of the name
+    @Query(value = "SELECT * FROM categories c WHERE c.created_by = :userId AND "
+            + "c.name ILIKE CONCAT('%', :keyword, '%') AND "
+            + "(:type IS NULL OR c.type = :type) "
+            + "ORDER BY word_similarity(:keyword, c.name) DESC, c.id DESC",
+            countQuery = "SELECT COUNT(*) FROM categories c WHERE c.created_by = :userId AND "
+            + "c.name ILIKE CONCAT('%', :keyword, '%') AND "
+            + "(:type IS NULL OR c.type = :type)",
+            nativeQuery = true)
+    Page<Categories> searchByKeyword(
+            @Param("keyword") String keyword,
+            @Param("type") String type,
+            @Param("userId") String userId,
+            Pageable pageable);
+
+    @Query("SELECT c.id AS categoryId, c.name AS name, c.description AS description, c.type AS type, "
+            + "COUNT(t) AS transactionCount, COALESCE(SUM(t.amount), 0.0) AS totalAmount, "
+            + "COUNT(DISTINCT t.createdBy.id) AS userCount "
+            + "FROM Categories c LEFT JOIN c.transaction t "
+            + "ON t.transactionDate BETWEEN :startDate AND :endDate "
+            + "GROUP BY c.id, c.name, c.description, c.type "
+            + "ORDER BY c.id")
+    List<CategoryUsageStats> findUsageStats(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
 }
@@ -0,0 +1,30 @@
+package com.budget_tracker.tracker.budget_tracker.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.budget_tracker.tracker.budget_tracker.entity.EmailOutbox;
+import com.budget_tracker.tracker.budget_tracker.enums.EmailStatus;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Rows locked by another worker are skipped instead of waited for
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<EmailOutbox> lockDueEmails(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatus(EmailStatus status);
+
+    // Emails left in SENDING by a worker that died
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.budget_tracker.tracker.budget_tracker.enums.EmailStatus.PENDING, "
+            + "e.lockedAt = NULL WHERE e.status = com.budget_tracker.tracker.budget_tracker.enums.EmailStatus.SENDING "
+            + "AND e.lockedAt < :lockedBefore")
+    int releaseStuckEmails(@Param("lockedBefore") LocalDateTime lockedBefore);
+}
@@ -0,0 +1,70 @@
+package com.budget_tracker.tracker.budget_tracker.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.budget_tracker.tracker.budget_tracker.entity.ExportJob;
+import com.budget_tracker.tracker.budget_tracker.entity.User;
+import com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus;
+
+public interface ExportJobRepository extends JpaRepository<ExportJob, String> {
+
+    Optional<ExportJob> findByIdAndCreatedBy(String id, User user);
+
+    List<ExportJob> findByCreatedByOrderByCreatedAtDesc(User user, Pageable pageable);
+
+    long countByCreatedByAndStatusIn(User user, Collection<ExportJobStatus> statuses);
+
+    List<ExportJob> findAllByStatusAndExpiresAtBefore(ExportJobStatus status, LocalDateTime time);
+
+    List<ExportJob> findAllByStatusInAndCreatedAtBefore(Collection<ExportJobStatus> statuses, LocalDateTime time);
+
+    // The status changes below only apply to a job still in the expected status, so the
+    // worker and the cleanup task never overwrite each other
+
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus.RUNNING, j.startedAt = :now, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.status = com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus.PENDING")
+    int markRunning(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.processedRows = :processedRows, j.totalRows = :totalRows, "
+            + "j.progress = :progress, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.status = com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus.RUNNING")
+    int updateProgress(
+            @Param("id") String id,
+            @Param("processedRows") long processedRows,
+            @Param("totalRows") long totalRows,
+            @Param("progress") int progress,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus.COMPLETED, j.progress = 100, "
+            + "j.filePath = :filePath, j.fileSize = :fileSize, j.completedAt = :now, j.expiresAt = :expiresAt, "
+            + "j.updatedAt = :now WHERE j.id = :id AND j.status = com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus.RUNNING")
+    int markCompleted(
+            @Param("id") String id,
+            @Param("filePath") String filePath,
+            @Param("fileSize") long fileSize,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus.FAILED, j.errorMessage = :errorMessage, "
+            + "j.completedAt = :now, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.status IN (com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus.PENDING, com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus.RUNNING)")
+    int markFailed(@Param("id") String id, @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus.EXPIRED, j.filePath = NULL, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.status = com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus.COMPLETED")
+    int markExpired(@Param("id") String id, @Param("now") LocalDateTime now);
+}
@@ -1,9 +1,12 @@
 package com.budget_tracker.tracker.budget_tracker.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,30 +15,88 @@ import com.budget_tracker.tracker.budget_tracker.entity.Categories;
 import com.budget_tracker.tracker.budget_tracker.entity.Goal;
 import com.budget_tracker.tracker.budget_tracker.entity.User;
 import com.budget_tracker.tracker.budget_tracker.enums.GoalStatus;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.GoalRow;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.UserCount;
 
 public interface GoalRepository extends JpaRepository<Goal, Long> {
 
+    // Returned columns of a goal and its category, for the reads below
+    String ROW_COLUMNS = "SELECT g.id AS id, g.name AS name, g.description AS description, "
+            + "g.targetAmount AS targetAmount, g.currentAmount AS currentAmount, g.targetDate AS targetDate, "
+            + "g.status AS status, g.createdAt AS createdAt, g.updatedAt AS updatedAt, "
+            + "g.createdBy.id AS createdById, c.id AS categoryId, c.name AS categoryName, "
+            + "c.description AS categoryDescription, c.type AS categoryType "
+            + "FROM Goal g LEFT JOIN g.category c ";
+
+    // The same columns for the native searches, aliases quoted so Postgres keeps their case
+    String NATIVE_ROW_COLUMNS = "SELECT g.id AS id, g.name AS name, g.description AS description, "
+            + "g.target_amount AS \"targetAmount\", g.current_amount AS \"currentAmount\", "
+            + "g.target_date AS \"targetDate\", g.status AS status, g.created_at AS \"createdAt\", "
+            + "g.updated_at AS \"updatedAt\", g.created_by AS \"createdById\", c.id AS \"categoryId\", "
+            + "c.name AS \"categoryName\", c.description AS \"categoryDescription\", c.type AS \"categoryType\" "
+            + "FROM goals g LEFT JOIN categories c ON c.id = g.category_id ";
+
+    // Goals are exported with their category, fetched in the same query
+    @EntityGraph(attributePaths = "category")
     List<Goal> findAllByCreatedBy(User user);
     
-    List<Goal> findAllByCreatedByAndStatus(User user, GoalStatus status);
-    
-    List<Goal> findAllByCreatedByAndCategory(User user, Categories category);
-    
+    @EntityGraph(attributePaths = {"category", "createdBy"})
     List<Goal> findByCreatedByOrderByCreatedAtDesc(User user, Pageable pageable);
+
+    @Query(ROW_COLUMNS + "WHERE g.createdBy = :user")
+    List<GoalRow> findRowsByCreatedBy(@Param("user") User user);
+
+    @Query(ROW_COLUMNS + "WHERE g.createdBy = :user AND g.status = :status")
+    List<GoalRow> findRowsByCreatedByAndStatus(@Param("user") User user, @Param("status") GoalStatus status);
+
+    @Query(ROW_COLUMNS + "WHERE g.createdBy = :user AND g.category = :category")
+    List<GoalRow> findRowsByCreatedByAndCategory(@Param("user") User user, @Param("category") Categories category);
+
+    @Query(ROW_COLUMNS + "WHERE g.id = :id")
+    Optional<GoalRow> findRowById(@Param("id") Long id);
     
     int countByCreatedBy(User user);
     
-    @Query(value = "SELECT * FROM goals g WHERE "
-            + "(:keyword IS NULL OR LOWER(g.name) LIKE LOWER(CONCAT('%', :keyword, '%')) "
-            + "OR LOWER(g.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND "
+    @Query("SELECT g.createdBy.id AS userId, COUNT(g) AS total FROM Goal g "
+            + "WHERE g.createdBy.id IN :userIds GROUP BY g.createdBy.id")
+    List<UserCount> countByUsers(@Param("userIds") Collection<String> userIds);
+    
+    @Query(value = NATIVE_ROW_COLUMNS + "WHERE "
+            + "(:keyword IS NULL OR g.name ILIKE CONCAT('%', :keyword, '%') "
+            + "OR g.description ILIKE CONCAT('%', :keyword, '%')) AND "
+            + "(:status IS NULL OR g.status = :status) AND "
+            + "(:categoryId IS NULL OR g.category_id = :categoryId) AND "
+            + "(:userId IS NULL OR g.created_by = :userId)",
+            countQuery = "SELECT COUNT(*) FROM goals g WHERE "
+            + "(:keyword IS NULL OR g.name ILIKE CONCAT('%', :keyword, '%') "
+            + "OR g.description ILIKE CONCAT('%', :keyword, '%')) AND "
             + "(:status IS NULL OR g.status = :status) AND "
             + "(:categoryId IS NULL OR g.category_id = :categoryId) AND "
             + "(:userId IS NULL OR g.created_by = :userId)",
             nativeQuery = true)
-    Page<Goal> findByFilters(
+    Page<GoalRow> findByFilters(
             @Param("keyword") String keyword, 
             @Param("status") String status,
             @Param("categoryId") Long categoryId,
             @Param("userId") String userId,
             Pageable pageable);
+
+    // Keyword search ranked by the best matching word of the name or description
+    @Query(value = NATIVE_ROW_COLUMNS + "WHERE g.created_by = :userId AND "
+            + "(g.name ILIKE CONCAT('%', :keyword, '%') OR g.description ILIKE CONCAT('%', :keyword, '%')) AND "
+            + "(:status IS NULL OR g.status = :status) AND "
+            + "(:categoryId IS NULL OR g.category_id = :categoryId) "
+            + "ORDER BY GREATEST(word_similarity(:keyword, g.name), "
+            + "word_similarity(:keyword, COALESCE(g.description, ''))) DESC, g.id DESC",
+            countQuery = "SELECT COUNT(*) FROM goals g WHERE g.created_by = :userId AND "
+            + "(g.name ILIKE CONCAT('%', :keyword, '%') OR g.description ILIKE CONCAT('%', :keyword, '%')) AND "
+            + "(:status IS NULL OR g.status = :status) AND "
+            + "(:categoryId IS NULL OR g.category_id = :categoryId)",
+            nativeQuery = true)
+    Page<GoalRow> searchByKeyword(
+            @Param("keyword") String keyword,
+            @Param("status") String status,
+            @Param("categoryId") Long categoryId,
+            @Param("userId") String userId,
+            Pageable pageable);
 } 
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.budget_tracker.tracker.budget_tracker.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.budget_tracker.tracker.budget_tracker.entity.MonthlyCategoryTotal;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.MonthlyCategorySum;
+
+public interface MonthlyCategoryTotalRepository extends JpaRepository<MonthlyCategoryTotal, Long> {
+
+    @Query("SELECT YEAR(m.periodStart) AS periodYear, MONTH(m.periodStart) AS periodMonth, "
+            + "m.categoryId AS categoryId, c.name AS categoryName, m.type AS type, "
+            + "m.total AS total, m.transactionCount AS transactionCount "
+            + "FROM MonthlyCategoryTotal m LEFT JOIN Categories c ON c.id = m.categoryId "
+            + "WHERE m.userId = :userId AND m.periodStart BETWEEN :fromMonth AND :toMonth "
+            + "AND m.transactionCount > 0")
+    List<MonthlyCategorySum> findSums(
+            @Param("userId") String userId,
+            @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth);
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_category_totals "
+            + "(user_id, period_start, category_id, type, total, transaction_count, updated_at) "
+            + "VALUES (:userId, :periodStart, :categoryId, :type, :amount, :count, now()) "
+            + "ON CONFLICT (user_id, period_start, category_id, type) DO UPDATE SET "
+            + "total = monthly_category_totals.total + EXCLUDED.total, "
+            + "transaction_count = monthly_category_totals.transaction_count + EXCLUDED.transaction_count, "
+            + "updated_at = now()",
+            nativeQuery = true)
+    int addToTotal(
+            @Param("userId") String userId,
+            @Param("periodStart") LocalDate periodStart,
+            @Param("categoryId") Long categoryId,
+            @Param("type") String type,
+            @Param("amount") double amount,
+            @Param("count") long count);
+
+    // Blocks transaction writes until the surrounding rebuild commits
+    @Modifying
+    @Query(value = "LOCK TABLE transactions IN SHARE MODE", nativeQuery = true)
+    void lockTransactions();
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_category_totals", nativeQuery = true)
+    int deleteAllTotals();
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_category_totals "
+            + "(user_id, period_start, category_id, type, total, transaction_count, updated_at) "
+            + "SELECT t.created_by, CAST(date_trunc('month', t.transaction_date) AS DATE), "
+            + "t.transaction_category, t.type, SUM(t.amount), COUNT(*), now() "
+            + "FROM transactions t "
+            + "WHERE t.transaction_date IS NOT NULL AND t.type IS NOT NULL AND t.amount IS NOT NULL "
+            + "GROUP BY t.created_by, CAST(date_trunc('month', t.transaction_date) AS DATE), "
+            + "t.transaction_category, t.type",
+            nativeQuery = true)
+    int insertTotalsFromTransactions();
+}
@@ -2,6 +2,7 @@ package com.budget_tracker.tracker.budget_tracker.repositories;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,26 +12,102 @@ import org.springframework.data.repository.query.Param;
 
 import com.budget_tracker.tracker.budget_tracker.entity.RecurringTransaction;
 import com.budget_tracker.tracker.budget_tracker.entity.User;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.RecurringTransactionRow;
 
 public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
 
     List<RecurringTransaction> findAllByCreatedBy(User user);
+
+    // Returned columns of a schedule and its category, for the reads below
+    String ROW_COLUMNS = "SELECT rt.id AS id, rt.amount AS amount, rt.description AS description, rt.type AS type, "
+            + "rt.dayOfMonth AS dayOfMonth, rt.startDate AS startDate, rt.endDate AS endDate, "
+            + "rt.recurrenceType AS recurrenceType, rt.active AS active, rt.nextRunAt AS nextRunAt, "
+            + "rt.createdAt AS createdAt, rt.updatedAt AS updatedAt, rt.createdBy.id AS createdById, "
+            + "c.id AS categoryId, c.name AS categoryName, c.description AS categoryDescription, "
+            + "c.type AS categoryType "
+            + "FROM RecurringTransaction rt JOIN rt.transactionCategory c ";
+
+    // The same columns for the native searches, aliases quoted so Postgres keeps their case
+    String NATIVE_ROW_COLUMNS = "SELECT rt.id AS id, rt.amount AS amount, rt.description AS description, "
+            + "rt.type AS type, rt.day_of_month AS \"dayOfMonth\", rt.start_date AS \"startDate\", "
+            + "rt.end_date AS \"endDate\", rt.recurrence_type AS \"recurrenceType\", rt.active AS active, "
+            + "rt.next_run_at AS \"nextRunAt\", rt.created_at AS \"createdAt\", rt.updated_at AS \"updatedAt\", "
+            + "rt.created_by AS \"createdById\", c.id AS \"categoryId\", c.name AS \"categoryName\", "
+            + "c.description AS \"categoryDescription\", c.type AS \"categoryType\" "
+            + "FROM recurring_transactions rt JOIN categories c ON c.id = rt.transaction_category ";
+
+    @Query(ROW_COLUMNS + "WHERE rt.createdBy = :user")
+    List<RecurringTransactionRow> findRowsByCreatedBy(@Param("user") User user);
+
+    @Query(ROW_COLUMNS + "WHERE rt.id = :id")
+    Optional<RecurringTransactionRow> findRowById(@Param("id") Long id);
     
-    @Query("SELECT rt FROM RecurringTransaction rt WHERE rt.active = true AND rt.dayOfMonth = :day " +
-           "AND (rt.endDate IS NULL OR rt.endDate >= :currentDate)")
-    List<RecurringTransaction> findActiveRecurringTransactionsForDay(@Param("day") Integer day, 
-                                                                  @Param("currentDate") LocalDateTime currentDate);
+    // Due schedules of one user shard, shared by findDue and findDueAfter
+    String DUE_IN_SHARD = "SELECT rt FROM RecurringTransaction rt "
+            + "JOIN FETCH rt.transactionCategory JOIN FETCH rt.createdBy "
+            + "WHERE rt.active = true AND rt.nextRunAt <= :until "
+            + "AND MOD(MOD(FUNCTION('hashtext', rt.createdBy.id), :shardCount) + :shardCount, :shardCount) = :shard ";
+
+    // Range scan on idx_recurring_transactions_active_next_run, in next_run_at, id order
+    @Query(DUE_IN_SHARD + "ORDER BY rt.nextRunAt, rt.id")
+    List<RecurringTransaction> findDue(
+            @Param("until") LocalDateTime until,
+            @Param("shard") int shard,
+            @Param("shardCount") int shardCount,
+            Pageable pageable);
+
+    // Next chunk after the last schedule of the previous one
+    @Query(DUE_IN_SHARD + "AND (rt.nextRunAt > :afterRunAt OR (rt.nextRunAt = :afterRunAt AND rt.id > :afterId)) "
+            + "ORDER BY rt.nextRunAt, rt.id")
+    List<RecurringTransaction> findDueAfter(
+            @Param("until") LocalDateTime until,
+            @Param("shard") int shard,
+            @Param("shardCount") int shardCount,
+            @Param("afterRunAt") LocalDateTime afterRunAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    // Active schedules without a next run, e.g. created before next runs were tracked
+    @Query("SELECT rt FROM RecurringTransaction rt WHERE rt.active = true AND rt.nextRunAt IS NULL "
+            + "AND (rt.endDate IS NULL OR rt.endDate >= :now) AND rt.id > :afterId ORDER BY rt.id")
+    List<RecurringTransaction> findUnscheduled(
+            @Param("now") LocalDateTime now,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
     
-    @Query(value = "SELECT * FROM recurring_transactions rt WHERE "
-            + "(:keyword IS NULL OR LOWER(rt.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND "
+    @Query(value = NATIVE_ROW_COLUMNS + "WHERE "
+            + "(:keyword IS NULL OR rt.description ILIKE CONCAT('%', :keyword, '%')) AND "
+            + "(:type IS NULL OR rt.type = :type) AND "
+            + "(:userId IS NULL OR rt.created_by = :userId) AND "
+            + "(:active IS NULL OR rt.active = :active)",
+            countQuery = "SELECT COUNT(*) FROM recurring_transactions rt WHERE "
+            + "(:keyword IS NULL OR rt.description ILIKE CONCAT('%', :keyword, '%')) AND "
             + "(:type IS NULL OR rt.type = :type) AND "
             + "(:userId IS NULL OR rt.created_by = :userId) AND "
             + "(:active IS NULL OR rt.active = :active)",
             nativeQuery = true)
-    Page<RecurringTransaction> findByFilters(
+    Page<RecurringTransactionRow> findByFilters(
             @Param("keyword") String keyword, 
             @Param("type") String type,
             @Param("userId") String userId,
             @Param("active") Boolean active,
             Pageable pageable);
+
+    // Keyword search ranked by the best matching word of the description
+    @Query(value = NATIVE_ROW_COLUMNS + "WHERE rt.created_by = :userId AND "
+            + "rt.description ILIKE CONCAT('%', :keyword, '%') AND "
+            + "(:type IS NULL OR rt.type = :type) AND "
+            + "(:active IS NULL OR rt.active = :active) "
+            + "ORDER BY word_similarity(:keyword, rt.description) DESC, rt.id DESC",
+            countQuery = "SELECT COUNT(*) FROM recurring_transactions rt WHERE rt.created_by = :userId AND "
+            + "rt.description ILIKE CONCAT('%', :keyword, '%') AND "
+            + "(:type IS NULL OR rt.type = :type) AND "
+            + "(:active IS NULL OR rt.active = :active)",
+            nativeQuery = true)
+    Page<RecurringTransactionRow> searchByKeyword(
+            @Param("keyword") String keyword,
+            @Param("type") String type,
+            @Param("userId") String userId,
+            @Param("active") Boolean active,
+            Pageable pageable);
 } 
\ No newline at end of file
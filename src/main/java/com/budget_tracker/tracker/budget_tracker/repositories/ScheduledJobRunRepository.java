@@ -0,0 +1,8 @@
+package com.budget_tracker.tracker.budget_tracker.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.budget_tracker.tracker.budget_tracker.entity.ScheduledJobRun;
+
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, Long> {
+}
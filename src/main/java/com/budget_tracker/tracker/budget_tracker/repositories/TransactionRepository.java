@@ -1,44 +1,192 @@
 package com.budget_tracker.tracker.budget_tracker.repositories;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.budget_tracker.tracker.budget_tracker.entity.Categories;
 import com.budget_tracker.tracker.budget_tracker.entity.Transaction;
 import com.budget_tracker.tracker.budget_tracker.entity.User;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.MonthlyCategorySum;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.TransactionExportRow;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.TransactionListRow;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.TypeTotal;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.UserTransactionStats;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Number> {
 
-    @Query(value = "SELECT * FROM transactions c WHERE "
-            + "(:keyword IS NULL OR LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND "
-            + "(:type IS NULL OR c.type = :type) AND "
-            + "(:userId IS NULL OR c.created_by = :userId) AND "
-            
-            + "((CAST(:startDate AS TIMESTAMP) IS NULL AND CAST(:endDate AS TIMESTAMP) IS NULL) OR "
-            + " (c.transaction_date BETWEEN "
-            + "    COALESCE(CAST(:startDate AS TIMESTAMP), c.transaction_date) AND "
-            + "    COALESCE(CAST(:endDate AS TIMESTAMP), c.transaction_date)))",
+    // Listing filters shared by the paged, keyset and count queries below
+    String LIST_FILTERS = "t.created_by = :userId AND "
+            + "(:keyword IS NULL OR t.description ILIKE CONCAT('%', :keyword, '%')) AND "
+            + "(:type IS NULL OR t.type = :type) AND "
+            + "(CAST(:startDate AS TIMESTAMP) IS NULL OR t.transaction_date >= CAST(:startDate AS TIMESTAMP)) AND "
+            + "(CAST(:endDate AS TIMESTAMP) IS NULL OR t.transaction_date <= CAST(:endDate AS TIMESTAMP))";
+
+    // Listed columns of a transaction and its category. Aliases are quoted so
+    // Postgres keeps their case for the projection
+    String LIST_COLUMNS = "SELECT t.id AS id, t.amount AS amount, t.description AS description, t.type AS type, "
+            + "t.transaction_date AS \"transactionDate\", t.created_at AS \"createdAt\", "
+            + "t.updated_at AS \"updatedAt\", c.id AS \"categoryId\", c.name AS \"categoryName\", "
+            + "c.description AS \"categoryDescription\", c.type AS \"categoryType\", "
+            + "c.created_at AS \"categoryCreatedAt\", c.updated_at AS \"categoryUpdatedAt\" "
+            + "FROM transactions t JOIN categories c ON c.id = t.transaction_category ";
+
+    // Counted separately, see countByFilters and countByFiltersUpTo
+    @Query(value = LIST_COLUMNS + "WHERE " + LIST_FILTERS, nativeQuery = true)
+    Slice<TransactionListRow> findSliceByFilters(
+            @Param("userId") String userId,
+            @Param("keyword") String keyword,
+            @Param("type") String type,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
+
+    // Keyword search ranked by the best matching word of the description
+    @Query(value = LIST_COLUMNS + "WHERE " + LIST_FILTERS
+            + " ORDER BY word_similarity(:keyword, t.description) DESC, t.id DESC",
+            nativeQuery = true)
+    Slice<TransactionListRow> searchSliceByFilters(
+            @Param("userId") String userId,
+            @Param("keyword") String keyword,
+            @Param("type") String type,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
+
+    // Keyset listing in transaction_date DESC, id DESC order, served by idx_transactions_created_by_date_id
+    @Query(value = LIST_COLUMNS + "WHERE " + LIST_FILTERS
+            + " AND (t.transaction_date, t.id) < (CAST(:afterDate AS TIMESTAMP), :afterId) "
+            + "ORDER BY t.transaction_date DESC, t.id DESC LIMIT :limit",
             nativeQuery = true)
-    Page<Transaction> findByKeywordAndType(
-            @Param("keyword") String keyword, 
+    List<TransactionListRow> findPageAfter(
+            @Param("userId") String userId,
+            @Param("keyword") String keyword,
             @Param("type") String type,
-            Pageable pageable,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit);
+
+    // Transactions without a date are listed last, by id
+    @Query(value = LIST_COLUMNS + "WHERE t.created_by = :userId AND t.transaction_date IS NULL AND "
+            + "(:keyword IS NULL OR t.description ILIKE CONCAT('%', :keyword, '%')) AND "
+            + "(:type IS NULL OR t.type = :type) AND t.id < :afterId "
+            + "ORDER BY t.id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<TransactionListRow> findUndatedPageAfter(
             @Param("userId") String userId,
+            @Param("keyword") String keyword,
+            @Param("type") String type,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM transactions t WHERE " + LIST_FILTERS, nativeQuery = true)
+    long countByFilters(
+            @Param("userId") String userId,
+            @Param("keyword") String keyword,
+            @Param("type") String type,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
-            
+
+    // Stops counting at :cap rows so large histories cost a bounded index scan
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM transactions t WHERE " + LIST_FILTERS
+            + " LIMIT :cap) capped",
+            nativeQuery = true)
+    long countByFiltersUpTo(
+            @Param("userId") String userId,
+            @Param("keyword") String keyword,
+            @Param("type") String type,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("cap") int cap);
+
+    // Detail reads return the category with the transaction
+    @EntityGraph(attributePaths = "transactionCategory")
+    Optional<Transaction> findWithCategoryById(Long id);
+
+    boolean existsByTransactionCategory(Categories category);
+
+    // Served by idx_transactions_created_by_fingerprint
+    @Query("SELECT t.fingerprint FROM Transaction t "
+            + "WHERE t.createdBy.id = :userId AND t.fingerprint IN :fingerprints")
+    List<String> findExistingFingerprints(
+            @Param("userId") String userId,
+            @Param("fingerprints") Collection<String> fingerprints);
+
     // Dashboard related queries
     List<Transaction> findAllByCreatedByAndTransactionDateBetween(
             User user, LocalDateTime startDate, LocalDateTime endDate);
             
+    @EntityGraph(attributePaths = "transactionCategory")
     List<Transaction> findAllByTransactionDateBetween(
             LocalDateTime startDate, LocalDateTime endDate);
             
+    @EntityGraph(attributePaths = {"transactionCategory", "createdBy"})
     List<Transaction> findByCreatedByOrderByTransactionDateDesc(
             User user, Pageable pageable);
+
+    long countByCreatedBy(User user);
+
+    // Export queries, keyset paginated in transaction_date DESC, id DESC order
+    @Query("SELECT t.id AS id, t.transactionDate AS transactionDate, t.description AS description, "
+            + "c.name AS categoryName, t.type AS type, t.amount AS amount "
+            + "FROM Transaction t LEFT JOIN t.transactionCategory c "
+            + "WHERE t.createdBy = :user AND t.transactionDate IS NULL AND t.id < :afterId "
+            + "ORDER BY t.id DESC")
+    List<TransactionExportRow> findExportRowsWithoutDate(
+            @Param("user") User user,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.transactionDate AS transactionDate, t.description AS description, "
+            + "c.name AS categoryName, t.type AS type, t.amount AS amount "
+            + "FROM Transaction t LEFT JOIN t.transactionCategory c "
+            + "WHERE t.createdBy = :user AND (t.transactionDate < :afterDate "
+            + "OR (t.transactionDate = :afterDate AND t.id < :afterId)) "
+            + "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionExportRow> findExportRows(
+            @Param("user") User user,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("SELECT YEAR(t.transactionDate) AS periodYear, MONTH(t.transactionDate) AS periodMonth, "
+            + "c.id AS categoryId, c.name AS categoryName, t.type AS type, "
+            + "SUM(t.amount) AS total, COUNT(t) AS transactionCount "
+            + "FROM Transaction t LEFT JOIN t.transactionCategory c "
+            + "WHERE t.createdBy = :user AND t.transactionDate BETWEEN :startDate AND :endDate "
+            + "GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate), c.id, c.name, t.type")
+    List<MonthlyCategorySum> sumByMonthAndCategory(
+            @Param("user") User user,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT t.createdBy.id AS userId, COUNT(t) AS transactionCount, "
+            + "SUM(CASE WHEN t.type = com.budget_tracker.tracker.budget_tracker.enums.CategoryType.INCOME "
+            + "THEN t.amount ELSE 0.0 END) AS totalIncome, "
+            + "SUM(CASE WHEN t.type = com.budget_tracker.tracker.budget_tracker.enums.CategoryType.EXPENSE "
+            + "THEN t.amount ELSE 0.0 END) AS totalExpenses, "
+            + "MAX(t.createdAt) AS lastActive "
+            + "FROM Transaction t "
+            + "WHERE t.createdBy.id IN :userIds AND t.transactionDate BETWEEN :startDate AND :endDate "
+            + "GROUP BY t.createdBy.id")
+    List<UserTransactionStats> statsByUser(
+            @Param("userIds") Collection<String> userIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT t.type AS type, SUM(t.amount) AS total FROM Transaction t "
+            + "WHERE t.transactionDate BETWEEN :startDate AND :endDate GROUP BY t.type")
+    List<TypeTotal> sumByType(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
 }
@@ -2,12 +2,35 @@ package com.budget_tracker.tracker.budget_tracker.repositories;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.budget_tracker.tracker.budget_tracker.entity.User;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.AuthenticatedUser;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.UserSummary;
+
+import jakarta.persistence.LockModeType;
 
 public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     Optional<User> findByVerificationToken(String token);
+
+    // Holds the user row until commit, so checks of per-user limits don't race each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> lockByEmail(@Param("email") String email);
+
+    @Query("SELECT new com.budget_tracker.tracker.budget_tracker.repositories.projection.AuthenticatedUser("
+            + "u.id, u.email, u.role, u.enabled) FROM User u WHERE u.email = :email")
+    Optional<AuthenticatedUser> findPrincipalByEmail(@Param("email") String email);
+
+    @Query(value = "SELECT u.id AS id, u.email AS email, u.firstName AS firstName, "
+            + "u.lastName AS lastName, u.createdAt AS createdAt FROM User u",
+            countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserSummary> findAllSummaries(Pageable pageable);
 }
@@ -0,0 +1,38 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.budget_tracker.tracker.budget_tracker.enums.Role;
+
+/**
+ * The fields of a user needed to authorize a request. Used as the security
+ * principal of JWT-authenticated requests and cached between requests.
+ */
+public record AuthenticatedUser(String id, String email, Role role, boolean enabled) implements UserDetails {
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    // Requests are authenticated by token, the password never leaves the users table
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
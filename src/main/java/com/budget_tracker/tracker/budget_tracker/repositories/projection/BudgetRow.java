@@ -0,0 +1,33 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+import java.time.LocalDateTime;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+
+/**
+ * The returned columns of a budget and its category.
+ */
+public interface BudgetRow {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Double getAmount();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getCreatedById();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getCategoryDescription();
+
+    CategoryType getCategoryType();
+}
@@ -0,0 +1,23 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+
+/**
+ * A category together with the totals of the transactions booked against it.
+ */
+public interface CategoryUsageStats {
+
+    Long getCategoryId();
+
+    String getName();
+
+    String getDescription();
+
+    CategoryType getType();
+
+    Long getTransactionCount();
+
+    Double getTotalAmount();
+
+    Long getUserCount();
+}
@@ -0,0 +1,40 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+import java.time.LocalDateTime;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+import com.budget_tracker.tracker.budget_tracker.enums.GoalStatus;
+
+/**
+ * The returned columns of a goal and its category.
+ */
+public interface GoalRow {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Double getTargetAmount();
+
+    Double getCurrentAmount();
+
+    LocalDateTime getTargetDate();
+
+    GoalStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getCreatedById();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getCategoryDescription();
+
+    CategoryType getCategoryType();
+}
@@ -0,0 +1,23 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+
+/**
+ * Sum of transaction amounts grouped by month, category and transaction type.
+ */
+public interface MonthlyCategorySum {
+
+    Integer getPeriodYear();
+
+    Integer getPeriodMonth();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    CategoryType getType();
+
+    Double getTotal();
+
+    Long getTransactionCount();
+}
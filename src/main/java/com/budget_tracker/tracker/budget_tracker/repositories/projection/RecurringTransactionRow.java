@@ -0,0 +1,46 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+import java.time.LocalDateTime;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+import com.budget_tracker.tracker.budget_tracker.enums.RecurrenceType;
+
+/**
+ * The returned columns of a recurring transaction and its category.
+ */
+public interface RecurringTransactionRow {
+
+    Long getId();
+
+    Double getAmount();
+
+    String getDescription();
+
+    CategoryType getType();
+
+    Integer getDayOfMonth();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+
+    RecurrenceType getRecurrenceType();
+
+    Boolean getActive();
+
+    LocalDateTime getNextRunAt();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getCreatedById();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getCategoryDescription();
+
+    CategoryType getCategoryType();
+}
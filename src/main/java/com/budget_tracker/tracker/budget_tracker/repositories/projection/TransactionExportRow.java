@@ -0,0 +1,23 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+import java.time.LocalDateTime;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+
+/**
+ * The transaction columns written by the exports.
+ */
+public interface TransactionExportRow {
+
+    Long getId();
+
+    LocalDateTime getTransactionDate();
+
+    String getDescription();
+
+    String getCategoryName();
+
+    CategoryType getType();
+
+    Double getAmount();
+}
@@ -0,0 +1,38 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+import java.time.LocalDateTime;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+
+/**
+ * A transaction of a listing page together with the category columns shown
+ * next to it.
+ */
+public interface TransactionListRow {
+
+    Long getId();
+
+    Double getAmount();
+
+    String getDescription();
+
+    CategoryType getType();
+
+    LocalDateTime getTransactionDate();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getCategoryDescription();
+
+    CategoryType getCategoryType();
+
+    LocalDateTime getCategoryCreatedAt();
+
+    LocalDateTime getCategoryUpdatedAt();
+}
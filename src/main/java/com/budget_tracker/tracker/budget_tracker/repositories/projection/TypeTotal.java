@@ -0,0 +1,13 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+
+/**
+ * Sum of transaction amounts for a single transaction type.
+ */
+public interface TypeTotal {
+
+    CategoryType getType();
+
+    Double getTotal();
+}
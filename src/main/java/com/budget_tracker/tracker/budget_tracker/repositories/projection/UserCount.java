@@ -0,0 +1,11 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+/**
+ * Number of rows owned by a single user.
+ */
+public interface UserCount {
+
+    String getUserId();
+
+    Long getTotal();
+}
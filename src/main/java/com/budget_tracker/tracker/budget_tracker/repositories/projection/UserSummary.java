@@ -0,0 +1,19 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Basic account columns of a user, without any of its associations.
+ */
+public interface UserSummary {
+
+    String getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    LocalDateTime getCreatedAt();
+}
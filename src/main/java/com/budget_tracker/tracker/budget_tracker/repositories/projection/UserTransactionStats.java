@@ -0,0 +1,19 @@
+package com.budget_tracker.tracker.budget_tracker.repositories.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transaction count, income, expenses and last activity of a single user.
+ */
+public interface UserTransactionStats {
+
+    String getUserId();
+
+    Long getTransactionCount();
+
+    Double getTotalIncome();
+
+    Double getTotalExpenses();
+
+    LocalDateTime getLastActive();
+}
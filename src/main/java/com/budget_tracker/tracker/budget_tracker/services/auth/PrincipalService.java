@@ -0,0 +1,55 @@
+package com.budget_tracker.tracker.budget_tracker.services.auth;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.AuthenticatedUser;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class PrincipalService {
+
+    public static final String CACHE_NAME = "principals";
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Get the principal of an authenticated request
+     */
+    @Cacheable(value = CACHE_NAME, key = "#email")
+    public AuthenticatedUser loadPrincipal(String email) {
+        return userRepository.findPrincipalByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User Not found"));
+    }
+
+    /**
+     * Drop the cached principal of a user. Inside a transaction this happens
+     * after commit, so a concurrent request cannot cache the old row again.
+     */
+    public void evictPrincipal(String email) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null || email == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(email);
+                }
+            });
+        } else {
+            cache.evict(email);
+        }
+    }
+}
@@ -22,6 +22,7 @@ public class VerificationService {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final GamificationService gamificationService;
+    private final PrincipalService principalService;
     
     @Value("${app.token-expiration-hours:24}")
     private int tokenExpirationHours;
@@ -58,6 +59,7 @@ public class VerificationService {
         user.setVerificationToken(null);
         user.setVerificationTokenExpiry(null);
         userRepository.save(user);
+        principalService.evictPrincipal(user.getEmail());
         
         // Initialize user progress for gamification
         gamificationService.initializeUserProgress(user);
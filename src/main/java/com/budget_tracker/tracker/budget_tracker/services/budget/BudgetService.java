@@ -2,17 +2,22 @@ package com.budget_tracker.tracker.budget_tracker.services.budget;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.budget_tracker.tracker.budget_tracker.controller.budget.dto.BudgetResponse;
 import com.budget_tracker.tracker.budget_tracker.controller.budget.dto.CreateBudgetRequest;
 import com.budget_tracker.tracker.budget_tracker.controller.budget.dto.UpdateBudgetRequest;
 import com.budget_tracker.tracker.budget_tracker.entity.Budget;
 import com.budget_tracker.tracker.budget_tracker.entity.Categories;
+import com.budget_tracker.tracker.budget_tracker.enums.ChangeType;
 import com.budget_tracker.tracker.budget_tracker.exception.common.NotFoundException;
 import com.budget_tracker.tracker.budget_tracker.exception.common.UnauthorizedException;
 import com.budget_tracker.tracker.budget_tracker.repositories.BudgetRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.CategoriesRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.BudgetRow;
+import com.budget_tracker.tracker.budget_tracker.services.events.BudgetChangedEvent;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,6 +28,7 @@ public class BudgetService {
     private final BudgetRepository budgetRepository;
     private final UserRepository userRepository;
     private final CategoriesRepository categoriesRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void createBudget(CreateBudgetRequest body, String userEmail) {
         System.out.println("Creating budget with name: " + body.getName() + ", description: " + body.getDescription() + ", amount: " + body.getAmount() + ", userEmail: " + userEmail);
@@ -48,37 +54,40 @@ public class BudgetService {
         }
 
         budgetRepository.save(budgetEntity);
+        eventPublisher.publishEvent(BudgetChangedEvent.of(ChangeType.CREATED, budgetEntity));
     }
 
-    public List<Budget> getBudgets(String userEmail) {
+    public List<BudgetResponse> getBudgets(String userEmail) {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        return budgetRepository.findAllByCreatedBy(user);
+        return budgetRepository.findRowsByCreatedBy(user).stream().map(this::mapToResponse).toList();
     }
     
-    public List<Budget> getBudgetsByCategory(Long categoryId, String userEmail) {
+    public List<BudgetResponse> getBudgetsByCategory(Long categoryId, String userEmail) {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
                 
         Categories category = categoriesRepository.findById(categoryId)
                 .orElseThrow(() -> new NotFoundException("Category not found"));
                 
-        return budgetRepository.findAllByCreatedByAndCategory(user, category);
+        return budgetRepository.findRowsByCreatedByAndCategory(user, category).stream()
+                .map(this::mapToResponse)
+                .toList();
     }
     
-    public Budget getBudgetById(Long id, String userEmail) {
+    public BudgetResponse getBudgetById(Long id, String userEmail) {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
                 
-        Budget budget = budgetRepository.findById(id)
+        BudgetRow budget = budgetRepository.findRowById(id)
                 .orElseThrow(() -> new NotFoundException("Budget not found"));
                 
-        if (!budget.getCreatedBy().getId().equals(user.getId())) {
+        if (!budget.getCreatedById().equals(user.getId())) {
             throw new UnauthorizedException("You are not authorized to access this budget");
         }
         
-        return budget;
+        return mapToResponse(budget);
     }
     
     public void updateBudget(Long id, UpdateBudgetRequest body, String userEmail) {
@@ -117,6 +126,7 @@ public class BudgetService {
         }
         
         budgetRepository.save(budget);
+        eventPublisher.publishEvent(BudgetChangedEvent.of(ChangeType.UPDATED, budget));
     }
     
     public void deleteBudget(Long id, String userEmail) {
@@ -131,5 +141,21 @@ public class BudgetService {
         }
         
         budgetRepository.delete(budget);
+        eventPublisher.publishEvent(BudgetChangedEvent.of(ChangeType.DELETED, budget));
+    }
+
+    private BudgetResponse mapToResponse(BudgetRow budget) {
+        return BudgetResponse.builder()
+                .id(budget.getId())
+                .name(budget.getName())
+                .description(budget.getDescription())
+                .amount(budget.getAmount())
+                .createdAt(budget.getCreatedAt())
+                .updatedAt(budget.getUpdatedAt())
+                .category(budget.getCategoryId() != null
+                        ? new BudgetResponse.CategoryItem(budget.getCategoryId(), budget.getCategoryName(),
+                                budget.getCategoryDescription(), budget.getCategoryType())
+                        : null)
+                .build();
     }
 }
@@ -19,6 +19,7 @@ import com.budget_tracker.tracker.budget_tracker.entity.User;
 import com.budget_tracker.tracker.budget_tracker.exception.common.ConflictException;
 import com.budget_tracker.tracker.budget_tracker.exception.common.NotFoundException;
 import com.budget_tracker.tracker.budget_tracker.repositories.CategoriesRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.TransactionRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -31,6 +32,7 @@ public class CategoriesService {
 
     private final CategoriesRepository categoriesRepository;
     private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
 
     @Transactional
     @CacheEvict(value = "categories", allEntries = true)
@@ -40,7 +42,7 @@ public class CategoriesService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
                 
-        if (categoriesRepository.existsByNameAndType(request.getName(), request.getType())) {
+        if (categoriesRepository.existsByCreatedByAndNameAndType(user, request.getName(), request.getType())) {
             throw new ConflictException("Category name is already in use");
         }
         
@@ -55,7 +57,7 @@ public class CategoriesService {
         log.info("Category created successfully: {}", category.getId());
     }
 
-    @Cacheable(value = "categories", key = "#userEmail + '-' + #param.hashCode()")
+    @Cacheable(value = "categories", key = "#userEmail + ':list:' + #param")
     public GetCategoriesResponse getAllCategories(GetCategoriesRequest param, String userEmail) {
         log.debug("Fetching categories for user: {}", userEmail);
         
@@ -75,7 +77,9 @@ public class CategoriesService {
             pageable = PageRequest.of(page, limit, Sort.by(direction, param.getSortBy()));
         }
 
-        Page<Categories> categoriesPage = categoriesRepository.findByKeywordAndType(keyword, type, pageable, user.getId());
+        Page<Categories> categoriesPage = (keyword != null && !keyword.isBlank() && pageable.getSort().isUnsorted())
+                ? categoriesRepository.searchByKeyword(keyword, type, user.getId(), pageable)
+                : categoriesRepository.findByKeywordAndType(keyword, type, pageable, user.getId());
         
         GetCategoriesResponse.Metadata metadata = new GetCategoriesResponse.Metadata(
                 categoriesPage.getTotalElements(),
@@ -114,7 +118,7 @@ public class CategoriesService {
             throw new NotFoundException("Category not found");
         }
 
-        if (categoriesRepository.existsByNameAndType(request.getName(), request.getType())) {
+        if (categoriesRepository.existsByCreatedByAndNameAndType(user, request.getName(), request.getType())) {
             throw new ConflictException("Category name is already in use");
         }
 
@@ -141,7 +145,8 @@ public class CategoriesService {
             throw new NotFoundException("Category not found");
         }
 
-        if (!category.getTransaction().isEmpty()) {
+        // Served by idx_transactions_category, instead of loading every transaction of the category
+        if (transactionRepository.existsByTransactionCategory(category)) {
             throw new ConflictException("Cannot delete category as it is referenced by transactions");
         }
 
@@ -149,7 +154,7 @@ public class CategoriesService {
         log.info("Category deleted successfully: {}", id);
     }
 
-    @Cacheable(value = "categories", key = "#userEmail + '-' + #id")
+    @Cacheable(value = "categories", key = "#userEmail + ':item:' + #id")
     public GetCategoriesResponse.CategoryItem getCategory(String userEmail, Number id) {
         log.debug("Fetching category: {} for user: {}", id, userEmail);
         
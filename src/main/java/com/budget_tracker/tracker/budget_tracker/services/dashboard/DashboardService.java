@@ -14,10 +14,14 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import com.budget_tracker.tracker.budget_tracker.controller.dashboard.dto.CategoryStatsDTO;
@@ -29,7 +33,6 @@ import com.budget_tracker.tracker.budget_tracker.controller.dashboard.dto.Spendi
 import com.budget_tracker.tracker.budget_tracker.controller.dashboard.dto.TransactionSummaryDTO;
 import com.budget_tracker.tracker.budget_tracker.controller.dashboard.dto.UserStatsDTO;
 import com.budget_tracker.tracker.budget_tracker.entity.Budget;
-import com.budget_tracker.tracker.budget_tracker.entity.Categories;
 import com.budget_tracker.tracker.budget_tracker.entity.Goal;
 import com.budget_tracker.tracker.budget_tracker.entity.RecurringTransaction;
 import com.budget_tracker.tracker.budget_tracker.entity.Transaction;
@@ -43,6 +46,12 @@ import com.budget_tracker.tracker.budget_tracker.repositories.GoalRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.RecurringTransactionRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.TransactionRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.CategoryUsageStats;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.MonthlyCategorySum;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.TypeTotal;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.UserCount;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.UserSummary;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.UserTransactionStats;
 
 import lombok.RequiredArgsConstructor;
 
@@ -56,6 +65,7 @@ public class DashboardService {
     private final RecurringTransactionRepository recurringTransactionRepository;
     private final CategoriesRepository categoriesRepository;
     private final UserRepository userRepository;
+    private final SpendingRollupService spendingRollupService;
 
     /**
      * Get a summary of the dashboard for the current user.
@@ -76,13 +86,13 @@ public class DashboardService {
                 ? dateRange.getEndDate() 
                 : LocalDateTime.now();
 
-        // Get all user transactions within date range
-        List<Transaction> transactions = transactionRepository.findAllByCreatedByAndTransactionDateBetween(
+        // Aggregate the user's transactions within date range by month, category and type
+        List<MonthlyCategorySum> sums = spendingRollupService.getMonthlySums(
                 user, startDate, endDate);
 
         // Calculate income and expenses
-        Double totalIncome = calculateTotalByType(transactions, CategoryType.INCOME);
-        Double totalExpenses = calculateTotalByType(transactions, CategoryType.EXPENSE);
+        Double totalIncome = sumTotalByType(sums, CategoryType.INCOME);
+        Double totalExpenses = sumTotalByType(sums, CategoryType.EXPENSE);
         Double netBalance = totalIncome - totalExpenses;
         Double savingsRate = totalIncome > 0 ? (totalIncome - totalExpenses) / totalIncome * 100 : 0.0;
 
@@ -94,11 +104,9 @@ public class DashboardService {
         Double totalBudgetSpent = 0.0;
 
         Map<Long, Double> categorySpending = new HashMap<>();
-        for (Transaction transaction : transactions) {
-            if (transaction.getType() == CategoryType.EXPENSE && transaction.getTransactionCategory() != null) {
-                Long categoryId = transaction.getTransactionCategory().getId();
-                categorySpending.put(categoryId, 
-                        categorySpending.getOrDefault(categoryId, 0.0) + transaction.getAmount());
+        for (MonthlyCategorySum sum : sums) {
+            if (sum.getType() == CategoryType.EXPENSE && sum.getCategoryId() != null) {
+                categorySpending.merge(sum.getCategoryId(), sum.getTotal(), Double::sum);
             }
         }
 
@@ -155,12 +163,12 @@ public class DashboardService {
                 .sum();
 
         // Category statistics
-        Map<String, Double> topExpenseCategories = getCategoryStatistics(transactions, CategoryType.EXPENSE, 5);
-        Map<String, Double> topIncomeCategories = getCategoryStatistics(transactions, CategoryType.INCOME, 5);
+        Map<String, Double> topExpenseCategories = sumByCategory(sums, CategoryType.EXPENSE, 5);
+        Map<String, Double> topIncomeCategories = sumByCategory(sums, CategoryType.INCOME, 5);
 
         // Time-based analysis
-        Map<String, Double> expensesByMonth = getMonthlyBreakdown(transactions, CategoryType.EXPENSE);
-        Map<String, Double> incomeByMonth = getMonthlyBreakdown(transactions, CategoryType.INCOME);
+        Map<String, Double> expensesByMonth = sumByMonth(sums, CategoryType.EXPENSE);
+        Map<String, Double> incomeByMonth = sumByMonth(sums, CategoryType.INCOME);
 
         // Recent activity
         List<TransactionSummaryDTO> recentTransactions = getRecentTransactions(user, 5);
@@ -335,7 +343,7 @@ public class DashboardService {
     /**
      * Get detailed statistics for each user in the system (admin only)
      */
-    public List<UserStatsDTO> getAllUserStats(DateRangeDTO dateRange) {
+    public Page<UserStatsDTO> getAllUserStats(DateRangeDTO dateRange, Pageable pageable) {
         LocalDateTime startDate = dateRange != null && dateRange.getStartDate() != null 
                 ? dateRange.getStartDate() 
                 : LocalDateTime.now().minusMonths(3);
@@ -344,48 +352,47 @@ public class DashboardService {
                 ? dateRange.getEndDate() 
                 : LocalDateTime.now();
                 
-        List<User> users = userRepository.findAll();
-        List<UserStatsDTO> userStats = new ArrayList<>();
-        
-        for (User user : users) {
-            // Count user's transactions
-            List<Transaction> userTransactions = transactionRepository.findAllByCreatedByAndTransactionDateBetween(
-                    user, startDate, endDate);
-            Integer transactionCount = userTransactions.size();
+        Page<UserSummary> users = userRepository.findAllSummaries(pageable);
+        if (users.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, users.getTotalElements());
+        }
+        
+        List<String> userIds = users.getContent().stream()
+                .map(UserSummary::getId)
+                .collect(Collectors.toList());
+        
+        // Grouped statistics for every user on the page
+        Map<String, UserTransactionStats> transactionStats = transactionRepository
+                .statsByUser(userIds, startDate, endDate).stream()
+                .collect(Collectors.toMap(UserTransactionStats::getUserId, Function.identity()));
+        Map<String, Long> goalCounts = goalRepository.countByUsers(userIds).stream()
+                .collect(Collectors.toMap(UserCount::getUserId, UserCount::getTotal));
+        Map<String, Long> budgetCounts = budgetRepository.countByUsers(userIds).stream()
+                .collect(Collectors.toMap(UserCount::getUserId, UserCount::getTotal));
+        
+        return users.map(user -> {
+            UserTransactionStats stats = transactionStats.get(user.getId());
             
             // Calculate income and expenses
-            Double totalIncome = calculateTotalByType(userTransactions, CategoryType.INCOME);
-            Double totalExpenses = calculateTotalByType(userTransactions, CategoryType.EXPENSE);
+            Double totalIncome = stats != null ? stats.getTotalIncome() : 0.0;
+            Double totalExpenses = stats != null ? stats.getTotalExpenses() : 0.0;
             Double savingsRate = totalIncome > 0 ? (totalIncome - totalExpenses) / totalIncome * 100 : 0.0;
             
-            // Get other counts
-            Integer goalCount = goalRepository.countByCreatedBy(user);
-            Integer budgetCount = budgetRepository.countByCreatedBy(user);
-            
-            // Find last activity date
-            LocalDateTime lastActive = userTransactions.stream()
-                    .map(Transaction::getCreatedAt)
-                    .max(LocalDateTime::compareTo)
-                    .orElse(user.getCreatedAt());
-            
-            UserStatsDTO userStat = UserStatsDTO.builder()
+            return UserStatsDTO.builder()
                     .id(user.getId())
                     .email(user.getEmail())
-                    .fullName(user.getFullName())
+                    .fullName(user.getFirstName() + " " + user.getLastName())
                     .createdAt(user.getCreatedAt())
-                    .transactionCount(transactionCount)
-                    .goalCount(goalCount)
-                    .budgetCount(budgetCount)
+                    .transactionCount(stats != null ? stats.getTransactionCount().intValue() : 0)
+                    .goalCount(goalCounts.getOrDefault(user.getId(), 0L).intValue())
+                    .budgetCount(budgetCounts.getOrDefault(user.getId(), 0L).intValue())
                     .totalSpent(totalExpenses)
                     .totalIncome(totalIncome)
                     .savingsRate(savingsRate)
-                    .lastActive(lastActive)
+                    .lastActive(stats != null && stats.getLastActive() != null 
+                            ? stats.getLastActive() : user.getCreatedAt())
                     .build();
-                    
-            userStats.add(userStat);
-        }
-        
-        return userStats;
+        });
     }
     
     /**
@@ -400,26 +407,17 @@ public class DashboardService {
                 ? dateRange.getEndDate() 
                 : LocalDateTime.now();
                 
-        List<Categories> categories = categoriesRepository.findAll();
-        List<Transaction> allTransactions = transactionRepository.findAllByTransactionDateBetween(
-                startDate, endDate);
+        List<CategoryUsageStats> usageStats = categoriesRepository.findUsageStats(startDate, endDate);
+        Map<CategoryType, Double> totalsByType = transactionRepository.sumByType(startDate, endDate).stream()
+                .collect(Collectors.toMap(TypeTotal::getType, TypeTotal::getTotal));
                 
-        Double totalExpenses = calculateTotalByType(allTransactions, CategoryType.EXPENSE);
-        Double totalIncome = calculateTotalByType(allTransactions, CategoryType.INCOME);
+        Double totalExpenses = totalsByType.getOrDefault(CategoryType.EXPENSE, 0.0);
+        Double totalIncome = totalsByType.getOrDefault(CategoryType.INCOME, 0.0);
         
         List<CategoryStatsDTO> categoryStats = new ArrayList<>();
         
-        for (Categories category : categories) {
-            // Find transactions for this category
-            List<Transaction> categoryTransactions = allTransactions.stream()
-                    .filter(t -> t.getTransactionCategory() != null 
-                            && t.getTransactionCategory().getId().equals(category.getId()))
-                    .collect(Collectors.toList());
-                            
-            Integer transactionCount = categoryTransactions.size();
-            Double totalAmount = categoryTransactions.stream()
-                    .mapToDouble(Transaction::getAmount)
-                    .sum();
+        for (CategoryUsageStats category : usageStats) {
+            Double totalAmount = category.getTotalAmount();
                     
             // Calculate percentage of total for its type
             Double percentageOfTotal = 0.0;
@@ -428,22 +426,16 @@ public class DashboardService {
             } else if (category.getType() == CategoryType.INCOME && totalIncome > 0) {
                 percentageOfTotal = (totalAmount / totalIncome) * 100;
             }
-            
-            // Count unique users who have used this category
-            long userCount = categoryTransactions.stream()
-                    .map(t -> t.getCreatedBy().getId())
-                    .distinct()
-                    .count();
                     
             CategoryStatsDTO categoryStat = CategoryStatsDTO.builder()
-                    .id(category.getId())
+                    .id(category.getCategoryId())
                     .name(category.getName())
                     .description(category.getDescription())
                     .type(category.getType())
-                    .transactionCount(transactionCount)
+                    .transactionCount(category.getTransactionCount().intValue())
                     .totalAmount(totalAmount)
                     .percentageOfTotal(percentageOfTotal)
-                    .userCount((int) userCount)
+                    .userCount(category.getUserCount().intValue())
                     .build();
                     
             categoryStats.add(categoryStat);
@@ -466,32 +458,17 @@ public class DashboardService {
         LocalDateTime now = LocalDateTime.now();
         YearMonth currentMonth = YearMonth.from(now);
         YearMonth previousMonth = currentMonth.minusMonths(1);
-        YearMonth twoMonthsAgo = currentMonth.minusMonths(2);
-        
-        LocalDateTime currentMonthStart = currentMonth.atDay(1).atStartOfDay();
-        LocalDateTime currentMonthEnd = currentMonth.atEndOfMonth().atTime(23, 59, 59);
-        LocalDateTime previousMonthStart = previousMonth.atDay(1).atStartOfDay();
-        LocalDateTime previousMonthEnd = previousMonth.atEndOfMonth().atTime(23, 59, 59);
-        LocalDateTime twoMonthsAgoStart = twoMonthsAgo.atDay(1).atStartOfDay();
-        LocalDateTime twoMonthsAgoEnd = twoMonthsAgo.atEndOfMonth().atTime(23, 59, 59);
         
         // Get last 6 months for trends
         List<YearMonth> last6Months = IntStream.range(0, 6)
                 .mapToObj(i -> currentMonth.minusMonths(i))
                 .collect(Collectors.toList());
                 
-        // Get transactions for each time period
-        List<Transaction> currentMonthTransactions = transactionRepository
-                .findAllByCreatedByAndTransactionDateBetween(user, currentMonthStart, currentMonthEnd);
-        List<Transaction> previousMonthTransactions = transactionRepository
-                .findAllByCreatedByAndTransactionDateBetween(user, previousMonthStart, previousMonthEnd);
-        List<Transaction> twoMonthsAgoTransactions = transactionRepository
-                .findAllByCreatedByAndTransactionDateBetween(user, twoMonthsAgoStart, twoMonthsAgoEnd);
-        
-        // Get transactions for the last 6 months (for longer-term trends)
+        // Aggregate the last 6 months by month and category in one pass
         LocalDateTime sixMonthsAgoStart = last6Months.get(last6Months.size() - 1).atDay(1).atStartOfDay();
-        List<Transaction> last6MonthsTransactions = transactionRepository
-                .findAllByCreatedByAndTransactionDateBetween(user, sixMonthsAgoStart, currentMonthEnd);
+        LocalDateTime currentMonthEnd = currentMonth.atEndOfMonth().atTime(23, 59, 59);
+        List<MonthlyCategorySum> sums = spendingRollupService
+                .getMonthlySums(user, sixMonthsAgoStart, currentMonthEnd);
         
         // Calculate spending and income by month and category
         Map<YearMonth, Map<String, Double>> spendingByCategoryAndMonth = new LinkedHashMap<>();
@@ -505,29 +482,23 @@ public class DashboardService {
             totalIncomeByMonth.put(month, 0.0);
         }
         
-        // Populate the maps with transaction data
-        for (Transaction transaction : last6MonthsTransactions) {
-            if (transaction.getTransactionDate() == null) continue;
+        // Populate the maps with the monthly sums
+        for (MonthlyCategorySum sum : sums) {
+            YearMonth sumMonth = YearMonth.of(sum.getPeriodYear(), sum.getPeriodMonth());
+            if (!spendingByCategoryAndMonth.containsKey(sumMonth)) continue;
             
-            YearMonth transactionMonth = YearMonth.from(transaction.getTransactionDate());
-            if (!spendingByCategoryAndMonth.containsKey(transactionMonth)) continue;
-            
-            if (transaction.getType() == CategoryType.EXPENSE) {
-                String categoryName = transaction.getTransactionCategory() != null 
-                        ? transaction.getTransactionCategory().getName() : "Uncategorized";
+            if (sum.getType() == CategoryType.EXPENSE) {
+                String categoryName = sum.getCategoryName() != null 
+                        ? sum.getCategoryName() : "Uncategorized";
                 
                 // Update category spending
-                Map<String, Double> monthCategories = spendingByCategoryAndMonth.get(transactionMonth);
-                monthCategories.put(categoryName, 
-                        monthCategories.getOrDefault(categoryName, 0.0) + transaction.getAmount());
+                spendingByCategoryAndMonth.get(sumMonth).merge(categoryName, sum.getTotal(), Double::sum);
                 
                 // Update total spending
-                totalSpendingByMonth.put(transactionMonth, 
-                        totalSpendingByMonth.get(transactionMonth) + transaction.getAmount());
-            } else if (transaction.getType() == CategoryType.INCOME) {
+                totalSpendingByMonth.merge(sumMonth, sum.getTotal(), Double::sum);
+            } else if (sum.getType() == CategoryType.INCOME) {
                 // Update total income
-                totalIncomeByMonth.put(transactionMonth, 
-                        totalIncomeByMonth.get(transactionMonth) + transaction.getAmount());
+                totalIncomeByMonth.merge(sumMonth, sum.getTotal(), Double::sum);
             }
         }
         
@@ -813,6 +784,49 @@ public class DashboardService {
         return monthlyTotals;
     }
     
+    private Double sumTotalByType(List<MonthlyCategorySum> sums, CategoryType type) {
+        return sums.stream()
+                .filter(s -> s.getType() == type)
+                .mapToDouble(MonthlyCategorySum::getTotal)
+                .sum();
+    }
+    
+    private Map<String, Double> sumByCategory(List<MonthlyCategorySum> sums, 
+                                              CategoryType type, 
+                                              int limit) {
+        Map<String, Double> categorySums = new HashMap<>();
+        
+        for (MonthlyCategorySum sum : sums) {
+            if (sum.getType() == type && sum.getCategoryName() != null) {
+                categorySums.merge(sum.getCategoryName(), sum.getTotal(), Double::sum);
+            }
+        }
+        
+        // Sort by amount and limit to top N
+        return categorySums.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(limit)
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        Map.Entry::getValue,
+                        (e1, e2) -> e1,
+                        HashMap::new
+                ));
+    }
+    
+    private Map<String, Double> sumByMonth(List<MonthlyCategorySum> sums, CategoryType type) {
+        Map<String, Double> monthlyTotals = new HashMap<>();
+        
+        for (MonthlyCategorySum sum : sums) {
+            if (sum.getType() == type) {
+                String month = String.format("%04d-%02d", sum.getPeriodYear(), sum.getPeriodMonth());
+                monthlyTotals.merge(month, sum.getTotal(), Double::sum);
+            }
+        }
+        
+        return monthlyTotals;
+    }
+    
     private List<TransactionSummaryDTO> getRecentTransactions(User user, int limit) {
         List<Transaction> transactions = transactionRepository.findByCreatedByOrderByTransactionDateDesc(
                 user, PageRequest.of(0, limit));
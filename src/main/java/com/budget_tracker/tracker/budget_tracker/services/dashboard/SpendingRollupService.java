@@ -0,0 +1,168 @@
+package com.budget_tracker.tracker.budget_tracker.services.dashboard;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.budget_tracker.tracker.budget_tracker.entity.Transaction;
+import com.budget_tracker.tracker.budget_tracker.entity.User;
+import com.budget_tracker.tracker.budget_tracker.repositories.MonthlyCategoryTotalRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.TransactionRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.MonthlyCategorySum;
+import com.budget_tracker.tracker.budget_tracker.services.events.TransactionSnapshot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the monthly_category_totals rollup and answers dashboard range
+ * queries from it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpendingRollupService {
+
+    private final MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Value("${app.dashboard.rollup.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    /**
+     * Move a transaction change into the rollup: the previous values are taken
+     * out and the current ones added. Either may be null. Must run in the
+     * transaction that writes the change.
+     */
+    @Transactional
+    public void applyChange(TransactionSnapshot previous, TransactionSnapshot current) {
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        if (current != null) {
+            apply(current, 1);
+        }
+    }
+
+    /**
+     * Add a batch of transactions to the rollup with one upsert per month,
+     * category and type. Must run in the transaction that writes them.
+     */
+    @Transactional
+    public void addAll(Collection<Transaction> transactions) {
+        Map<RollupKey, double[]> deltas = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (!isCounted(transaction)) {
+                continue;
+            }
+            RollupKey key = new RollupKey(
+                    transaction.getCreatedBy().getId(),
+                    YearMonth.from(transaction.getTransactionDate()).atDay(1),
+                    transaction.getTransactionCategory().getId(),
+                    transaction.getType().name());
+            double[] delta = deltas.computeIfAbsent(key, k -> new double[2]);
+            delta[0] += transaction.getAmount();
+            delta[1]++;
+        }
+
+        deltas.forEach((key, delta) -> monthlyCategoryTotalRepository.addToTotal(
+                key.userId(), key.periodStart(), key.categoryId(), key.type(), delta[0], (long) delta[1]));
+    }
+
+    /**
+     * Get the monthly sums of a user's transactions between two dates (inclusive).
+     * Whole months are read from the rollup; partial months at either end of the
+     * range are aggregated from the transactions table.
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyCategorySum> getMonthlySums(User user, LocalDateTime startDate, LocalDateTime endDate) {
+        YearMonth firstFullMonth = startDate.equals(YearMonth.from(startDate).atDay(1).atStartOfDay())
+                ? YearMonth.from(startDate)
+                : YearMonth.from(startDate).plusMonths(1);
+        YearMonth lastFullMonth = endDate.isBefore(YearMonth.from(endDate).atEndOfMonth().atTime(23, 59, 59))
+                ? YearMonth.from(endDate).minusMonths(1)
+                : YearMonth.from(endDate);
+
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            return transactionRepository.sumByMonthAndCategory(user, startDate, endDate);
+        }
+
+        List<MonthlyCategorySum> sums = new ArrayList<>(monthlyCategoryTotalRepository.findSums(
+                user.getId(), firstFullMonth.atDay(1), lastFullMonth.atDay(1)));
+
+        // transaction_date is stored with microsecond precision
+        LocalDateTime fullRangeStart = firstFullMonth.atDay(1).atStartOfDay();
+        if (startDate.isBefore(fullRangeStart)) {
+            sums.addAll(transactionRepository.sumByMonthAndCategory(
+                    user, startDate, fullRangeStart.minus(1, ChronoUnit.MICROS)));
+        }
+
+        LocalDateTime fullRangeEnd = lastFullMonth.plusMonths(1).atDay(1).atStartOfDay();
+        if (!endDate.isBefore(fullRangeEnd)) {
+            sums.addAll(transactionRepository.sumByMonthAndCategory(user, fullRangeEnd, endDate));
+        }
+
+        return sums;
+    }
+
+    /**
+     * Recompute the whole rollup from the transactions table.
+     *
+     * @return The number of rollup rows written
+     */
+    @Transactional
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+
+        monthlyCategoryTotalRepository.lockTransactions();
+        int deleted = monthlyCategoryTotalRepository.deleteAllTotals();
+        int inserted = monthlyCategoryTotalRepository.insertTotalsFromTransactions();
+
+        log.info("Rebuilt monthly category totals: {} rows removed, {} rows written in {} ms",
+                deleted, inserted, System.currentTimeMillis() - started);
+        return inserted;
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    private void apply(TransactionSnapshot transaction, int sign) {
+        if (transaction.transactionDate() == null || transaction.type() == null
+                || transaction.amount() == null || transaction.categoryId() == null) {
+            return;
+        }
+
+        monthlyCategoryTotalRepository.addToTotal(
+                transaction.userId(),
+                YearMonth.from(transaction.transactionDate()).atDay(1),
+                transaction.categoryId(),
+                transaction.type().name(),
+                sign * transaction.amount(),
+                sign);
+    }
+
+    private boolean isCounted(Transaction transaction) {
+        return transaction.getTransactionDate() != null && transaction.getType() != null
+                && transaction.getAmount() != null && transaction.getTransactionCategory() != null;
+    }
+
+    private record RollupKey(String userId, LocalDate periodStart, Long categoryId, String type) {
+    }
+}
@@ -0,0 +1,238 @@
+package com.budget_tracker.tracker.budget_tracker.services.email;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.budget_tracker.tracker.budget_tracker.config.EmailOutboxProperties;
+import com.budget_tracker.tracker.budget_tracker.entity.EmailOutbox;
+import com.budget_tracker.tracker.budget_tracker.enums.EmailStatus;
+import com.budget_tracker.tracker.budget_tracker.repositories.EmailOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the email outbox. Each worker claims a batch of due emails, sends
+ * them over a single SMTP connection and records the outcome. Failed emails
+ * are retried with exponential backoff until they run out of attempts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxProcessor {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final ThreadPoolTaskExecutor emailTaskExecutor;
+    private final PlatformTransactionManager transactionManager;
+    private final EmailOutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter sentCounter;
+    private Counter retryCounter;
+    private Counter failedCounter;
+    private Timer batchTimer;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        sentCounter = Counter.builder("email.outbox.sent")
+                .description("Emails delivered to the SMTP server")
+                .register(meterRegistry);
+        retryCounter = Counter.builder("email.outbox.failures")
+                .tag("outcome", "retry")
+                .description("Email send attempts that failed")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("email.outbox.failures")
+                .tag("outcome", "failed")
+                .description("Email send attempts that failed")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("email.outbox.batch")
+                .description("Time to send one batch over a single SMTP connection")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.pending", emailOutboxRepository, repository -> repository.countByStatus(EmailStatus.PENDING))
+                .description("Emails waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start workers until the pool is busy. Workers stop once no email is due.
+     */
+    public void trigger() {
+        while (true) {
+            int active = activeWorkers.get();
+            if (active >= properties.getPoolSize()) {
+                return;
+            }
+            if (!activeWorkers.compareAndSet(active, active + 1)) {
+                continue;
+            }
+
+            try {
+                emailTaskExecutor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                activeWorkers.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Hand out emails left behind by a crashed worker and start draining
+     */
+    public void poll() {
+        Integer released = transactionTemplate.execute(status -> emailOutboxRepository.releaseStuckEmails(
+                LocalDateTime.now().minusMinutes(properties.getStuckTimeoutMinutes())));
+        if (released != null && released > 0) {
+            log.warn("Released {} emails stuck in sending", released);
+        }
+        trigger();
+    }
+
+    private void drain() {
+        try {
+            List<EmailOutbox> batch;
+            while (!(batch = claimBatch()).isEmpty()) {
+                sendBatch(batch);
+            }
+        } catch (Exception e) {
+            log.error("Email outbox worker failed: {}", e.getMessage(), e);
+        } finally {
+            activeWorkers.decrementAndGet();
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> batch = emailOutboxRepository.lockDueEmails(now, properties.getBatchSize());
+            for (EmailOutbox email : batch) {
+                email.setStatus(EmailStatus.SENDING);
+                email.setLockedAt(now);
+                email.setAttempts(email.getAttempts() + 1);
+            }
+            return emailOutboxRepository.saveAll(batch);
+        });
+    }
+
+    private void sendBatch(List<EmailOutbox> batch) {
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        Map<EmailOutbox, Exception> failures = new IdentityHashMap<>();
+
+        for (EmailOutbox email : batch) {
+            try {
+                messages.put(createMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email, e);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            batchTimer.record(() -> {
+                try {
+                    mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+                } catch (MailSendException e) {
+                    // Messages not listed here were delivered
+                    e.getFailedMessages().forEach((message, cause) -> {
+                        EmailOutbox email = messages.get(message);
+                        if (email != null) {
+                            failures.put(email, cause);
+                        }
+                    });
+                    if (e.getFailedMessages().isEmpty()) {
+                        messages.values().forEach(email -> failures.put(email, e));
+                    }
+                } catch (MailException e) {
+                    messages.values().forEach(email -> failures.put(email, e));
+                }
+            });
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> updated = new ArrayList<>(batch.size());
+        for (EmailOutbox email : batch) {
+            Exception failure = failures.get(email);
+            if (failure == null) {
+                markSent(email, now);
+            } else {
+                markFailed(email, failure, now);
+            }
+            updated.add(email);
+        }
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(updated));
+    }
+
+    private MimeMessage createMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        return mimeMessage;
+    }
+
+    private void markSent(EmailOutbox email, LocalDateTime now) {
+        email.setStatus(EmailStatus.SENT);
+        email.setSentAt(now);
+        email.setLockedAt(null);
+        email.setLastError(null);
+        sentCounter.increment();
+        log.info("Email {} sent to: {}", email.getId(), email.getRecipient());
+    }
+
+    private void markFailed(EmailOutbox email, Exception failure, LocalDateTime now) {
+        String error = String.valueOf(failure.getMessage());
+        email.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        email.setLockedAt(null);
+
+        if (email.getAttempts() >= properties.getMaxAttempts()) {
+            email.setStatus(EmailStatus.FAILED);
+            failedCounter.increment();
+            log.error("Giving up on email {} to: {} after {} attempts: {}",
+                    email.getId(), email.getRecipient(), email.getAttempts(), error);
+            return;
+        }
+
+        email.setStatus(EmailStatus.PENDING);
+        email.setNextAttemptAt(now.plusSeconds(backoffSeconds(email.getAttempts())));
+        retryCounter.increment();
+        log.warn("Failed to send email {} to: {} (attempt {}): {}",
+                email.getId(), email.getRecipient(), email.getAttempts(), error);
+    }
+
+    private long backoffSeconds(int attempts) {
+        long delay = properties.getInitialBackoffSeconds() << Math.min(attempts - 1, 20);
+        return Math.min(delay, properties.getMaxBackoffSeconds());
+    }
+}
@@ -0,0 +1,50 @@
+package com.budget_tracker.tracker.budget_tracker.services.email;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.budget_tracker.tracker.budget_tracker.entity.EmailOutbox;
+import com.budget_tracker.tracker.budget_tracker.enums.EmailStatus;
+import com.budget_tracker.tracker.budget_tracker.repositories.EmailOutboxRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailOutboxProcessor emailOutboxProcessor;
+
+    /**
+     * Queue an email in the caller's transaction. It is only sent if that
+     * transaction commits, and the workers are woken up right after the commit.
+     */
+    @Transactional
+    public void enqueue(String recipient, String subject, String body) {
+        EmailOutbox email = emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .status(EmailStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.debug("Queued email {} to: {}", email.getId(), recipient);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emailOutboxProcessor.trigger();
+                }
+            });
+        }
+    }
+}
@@ -1,15 +1,10 @@
 package com.budget_tracker.tracker.budget_tracker.services.email;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,37 +13,38 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
     private final SpringTemplateEngine templateEngine;
-    
-    @Value("${spring.mail.username}")
-    private String fromEmail;
-    
+    private final EmailOutboxService emailOutboxService;
+
     @Value("${app.frontend-url}")
     private String frontendUrl;
 
-    @Async
+    /**
+     * Queue the verification email. It is sent by the outbox workers once the
+     * caller's transaction commits, so the request never waits for SMTP.
+     */
     public void sendVerificationEmail(String to, String token) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject("Verify Your Budget Tracker Account");
-            
-            Context context = new Context();
-            context.setVariable("token", token);
-            context.setVariable("verificationUrl", frontendUrl + "/verify?token=" + token);
-            context.setVariable("name", to.split("@")[0]); // Use username part of email as name
-            
-            String content = templateEngine.process("email/verification", context);
-            helper.setText(content, true);
-            
-            mailSender.send(mimeMessage);
-            log.info("Verification email sent to: {}", to);
-        } catch (MessagingException e) {
-            log.error("Failed to send verification email to: {}", to, e);
-        }
+        Context context = new Context();
+        context.setVariable("token", token);
+        context.setVariable("verificationUrl", frontendUrl + "/verify?token=" + token);
+        context.setVariable("name", to.split("@")[0]); // Use username part of email as name
+
+        String content = templateEngine.process("email/verification", context);
+        emailOutboxService.enqueue(to, "Verify Your Budget Tracker Account", content);
+        log.info("Verification email queued for: {}", to);
+    }
+
+    /**
+     * Queue the email congratulating a user on completing a goal
+     */
+    public void sendGoalCompletedEmail(String to, String goalName) {
+        Context context = new Context();
+        context.setVariable("name", to.split("@")[0]);
+        context.setVariable("goalName", goalName);
+        context.setVariable("goalsUrl", frontendUrl + "/goals");
+
+        String content = templateEngine.process("email/goal-completed", context);
+        emailOutboxService.enqueue(to, "You reached your goal: " + goalName, content);
+        log.info("Goal completed email queued for: {}", to);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.budget_tracker.tracker.budget_tracker.services.email;
+
+import org.springframework.stereotype.Component;
+
+import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
+import com.budget_tracker.tracker.budget_tracker.services.events.DomainEventSubscriber;
+import com.budget_tracker.tracker.budget_tracker.services.events.GoalChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Emails the user when one of their goals gets completed
+ */
+@Component
+@RequiredArgsConstructor
+public class GoalNotificationSubscriber implements DomainEventSubscriber<GoalChangedEvent> {
+
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+
+    @Override
+    public Class<GoalChangedEvent> eventType() {
+        return GoalChangedEvent.class;
+    }
+
+    @Override
+    public void handle(GoalChangedEvent event) {
+        if (!event.isCompletion()) {
+            return;
+        }
+
+        userRepository.findById(event.userId())
+                .ifPresent(user -> emailService.sendGoalCompletedEmail(user.getEmail(), event.name()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.budget_tracker.tracker.budget_tracker.services.events;
+
+import java.time.Instant;
+
+import com.budget_tracker.tracker.budget_tracker.entity.Budget;
+import com.budget_tracker.tracker.budget_tracker.enums.ChangeType;
+
+/**
+ * A budget was created, updated or deleted
+ */
+public record BudgetChangedEvent(
+        ChangeType change,
+        String userId,
+        Long budgetId,
+        Long categoryId,
+        Double amount,
+        Instant occurredAt) implements DomainEvent {
+
+    public static BudgetChangedEvent of(ChangeType change, Budget budget) {
+        return new BudgetChangedEvent(change, budget.getCreatedBy().getId(), budget.getId(),
+                budget.getCategory() != null ? budget.getCategory().getId() : null,
+                budget.getAmount(), Instant.now());
+    }
+}
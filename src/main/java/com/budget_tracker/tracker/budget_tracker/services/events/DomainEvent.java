@@ -0,0 +1,15 @@
+package com.budget_tracker.tracker.budget_tracker.services.events;
+
+import java.time.Instant;
+
+/**
+ * Something that happened to a user's data. Published inside the writing
+ * transaction and delivered to subscribers once it commits.
+ */
+public interface DomainEvent {
+
+    // Events of the same user are delivered in publishing order
+    String userId();
+
+    Instant occurredAt();
+}
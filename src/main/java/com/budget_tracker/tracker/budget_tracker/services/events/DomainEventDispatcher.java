@@ -0,0 +1,76 @@
+package com.budget_tracker.tracker.budget_tracker.services.events;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ClassUtils;
+
+import com.budget_tracker.tracker.budget_tracker.config.StripedExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands committed domain events to the subscribers of their type. Events are
+ * queued on the worker of their user, so each user's events are handled one
+ * at a time and in order, while different users are handled in parallel.
+ * Events published outside a transaction are dispatched right away.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DomainEventDispatcher {
+
+    private final StripedExecutor domainEventExecutor;
+    private final List<DomainEventSubscriber<?>> subscribers;
+    private final MeterRegistry meterRegistry;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void dispatch(DomainEvent event) {
+        List<DomainEventSubscriber<?>> targets = subscribers.stream()
+                .filter(subscriber -> subscriber.eventType().isInstance(event))
+                .toList();
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        domainEventExecutor.execute(event.userId(), () -> deliver(event, targets));
+    }
+
+    private void deliver(DomainEvent event, List<DomainEventSubscriber<?>> targets) {
+        String eventName = event.getClass().getSimpleName();
+        Timer.builder("domain.events.lag")
+                .tag("event", eventName)
+                .description("Time from publishing an event to the start of its handling")
+                .register(meterRegistry)
+                .record(Duration.between(event.occurredAt(), Instant.now()));
+
+        for (DomainEventSubscriber<?> subscriber : targets) {
+            String subscriberName = ClassUtils.getUserClass(subscriber).getSimpleName();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "success";
+            try {
+                handle(subscriber, event);
+            } catch (RuntimeException e) {
+                outcome = "failure";
+                log.error("{} failed to handle {} of user {}: {}",
+                        subscriberName, eventName, event.userId(), e.getMessage(), e);
+            }
+            sample.stop(Timer.builder("domain.events.handle")
+                    .tag("event", eventName)
+                    .tag("subscriber", subscriberName)
+                    .tag("outcome", outcome)
+                    .description("Time a subscriber took to handle an event")
+                    .register(meterRegistry));
+        }
+    }
+
+    private <E extends DomainEvent> void handle(DomainEventSubscriber<E> subscriber, DomainEvent event) {
+        subscriber.handle(subscriber.eventType().cast(event));
+    }
+}
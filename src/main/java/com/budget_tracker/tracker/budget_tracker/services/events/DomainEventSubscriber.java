@@ -0,0 +1,12 @@
+package com.budget_tracker.tracker.budget_tracker.services.events;
+
+/**
+ * Receives committed domain events of one type on the event workers. Handlers
+ * run outside the publishing transaction and should open their own.
+ */
+public interface DomainEventSubscriber<E extends DomainEvent> {
+
+    Class<E> eventType();
+
+    void handle(E event);
+}
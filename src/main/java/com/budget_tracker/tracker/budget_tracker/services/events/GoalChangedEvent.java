@@ -0,0 +1,29 @@
+package com.budget_tracker.tracker.budget_tracker.services.events;
+
+import java.time.Instant;
+
+import com.budget_tracker.tracker.budget_tracker.entity.Goal;
+import com.budget_tracker.tracker.budget_tracker.enums.ChangeType;
+import com.budget_tracker.tracker.budget_tracker.enums.GoalStatus;
+
+/**
+ * A goal was created, updated or deleted
+ */
+public record GoalChangedEvent(
+        ChangeType change,
+        String userId,
+        Long goalId,
+        String name,
+        GoalStatus previousStatus,
+        GoalStatus status,
+        Instant occurredAt) implements DomainEvent {
+
+    public static GoalChangedEvent of(ChangeType change, Goal goal, GoalStatus previousStatus) {
+        return new GoalChangedEvent(change, goal.getCreatedBy().getId(), goal.getId(), goal.getName(),
+                previousStatus, goal.getStatus(), Instant.now());
+    }
+
+    public boolean isCompletion() {
+        return change != ChangeType.DELETED && status == GoalStatus.COMPLETED && previousStatus != GoalStatus.COMPLETED;
+    }
+}
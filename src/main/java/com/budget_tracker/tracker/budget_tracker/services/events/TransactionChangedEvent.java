@@ -0,0 +1,29 @@
+package com.budget_tracker.tracker.budget_tracker.services.events;
+
+import java.time.Instant;
+
+import com.budget_tracker.tracker.budget_tracker.enums.ChangeType;
+
+/**
+ * A transaction was created, updated or deleted. previous is set for updates
+ * and deletes, current for creates and updates.
+ */
+public record TransactionChangedEvent(
+        ChangeType change,
+        String userId,
+        TransactionSnapshot previous,
+        TransactionSnapshot current,
+        Instant occurredAt) implements DomainEvent {
+
+    public static TransactionChangedEvent created(TransactionSnapshot current) {
+        return new TransactionChangedEvent(ChangeType.CREATED, current.userId(), null, current, Instant.now());
+    }
+
+    public static TransactionChangedEvent updated(TransactionSnapshot previous, TransactionSnapshot current) {
+        return new TransactionChangedEvent(ChangeType.UPDATED, current.userId(), previous, current, Instant.now());
+    }
+
+    public static TransactionChangedEvent deleted(TransactionSnapshot previous) {
+        return new TransactionChangedEvent(ChangeType.DELETED, previous.userId(), previous, null, Instant.now());
+    }
+}
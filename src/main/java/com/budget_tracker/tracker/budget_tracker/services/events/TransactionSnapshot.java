@@ -0,0 +1,30 @@
+package com.budget_tracker.tracker.budget_tracker.services.events;
+
+import java.time.LocalDateTime;
+
+import com.budget_tracker.tracker.budget_tracker.entity.Transaction;
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+
+/**
+ * Values of a transaction at the time of an event, safe to read on another thread
+ */
+public record TransactionSnapshot(
+        Long id,
+        String userId,
+        Long categoryId,
+        String categoryName,
+        CategoryType type,
+        Double amount,
+        LocalDateTime transactionDate) {
+
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(
+                transaction.getId(),
+                transaction.getCreatedBy().getId(),
+                transaction.getTransactionCategory() != null ? transaction.getTransactionCategory().getId() : null,
+                transaction.getTransactionCategory() != null ? transaction.getTransactionCategory().getName() : null,
+                transaction.getType(),
+                transaction.getAmount(),
+                transaction.getTransactionDate());
+    }
+}
@@ -0,0 +1,342 @@
+package com.budget_tracker.tracker.budget_tracker.services.export;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.budget_tracker.tracker.budget_tracker.config.ExportProperties;
+import com.budget_tracker.tracker.budget_tracker.controller.export.dto.CreateExportJobRequest;
+import com.budget_tracker.tracker.budget_tracker.controller.export.dto.ExportJobResponse;
+import com.budget_tracker.tracker.budget_tracker.entity.ExportJob;
+import com.budget_tracker.tracker.budget_tracker.entity.User;
+import com.budget_tracker.tracker.budget_tracker.enums.ExportFormat;
+import com.budget_tracker.tracker.budget_tracker.enums.ExportJobStatus;
+import com.budget_tracker.tracker.budget_tracker.exception.common.BadRequestException;
+import com.budget_tracker.tracker.budget_tracker.exception.common.ConflictException;
+import com.budget_tracker.tracker.budget_tracker.exception.common.NotFoundException;
+import com.budget_tracker.tracker.budget_tracker.exception.common.TooManyRequestsException;
+import com.budget_tracker.tracker.budget_tracker.repositories.ExportJobRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs exports in the background and keeps the finished files in the storage
+ * directory until they expire. With more than one node the directory must be
+ * shared by all of them (e.g. a network volume), since a download may reach
+ * any node and the cleanup task runs on one node at a time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportJobService {
+
+    private static final Set<ExportJobStatus> ACTIVE_STATUSES = EnumSet.of(ExportJobStatus.PENDING, ExportJobStatus.RUNNING);
+
+    // Persist progress at most this often, in rows
+    private static final long PROGRESS_UPDATE_INTERVAL = 2000;
+
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    private final ExportJobRepository exportJobRepository;
+    private final UserRepository userRepository;
+    private final ExportService exportService;
+    private final ExportProperties exportProperties;
+    private final ThreadPoolTaskExecutor exportTaskExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Queue an export for the user
+     */
+    public ExportJobResponse submitJob(CreateExportJobRequest request, String userEmail) {
+        if (request.getResource() == null || request.getFormat() == null) {
+            throw new BadRequestException("Export resource and format are required");
+        }
+
+        // Concurrent submits of a user wait for each other on the user row, so the limit holds
+        ExportJob job = transactionTemplate.execute(status -> {
+            User user = userRepository.lockByEmail(userEmail)
+                    .orElseThrow(() -> new NotFoundException("User not found"));
+
+            if (exportJobRepository.countByCreatedByAndStatusIn(user, ACTIVE_STATUSES)
+                    >= exportProperties.getMaxActiveJobsPerUser()) {
+                throw new TooManyRequestsException("Too many exports in progress, please wait for one to finish");
+            }
+
+            return exportJobRepository.save(ExportJob.builder()
+                    .resource(request.getResource())
+                    .format(request.getFormat())
+                    .status(ExportJobStatus.PENDING)
+                    .progress(0)
+                    .processedRows(0L)
+                    .createdBy(user)
+                    .build());
+        });
+
+        try {
+            exportTaskExecutor.execute(() -> runJob(job.getId(), userEmail));
+        } catch (TaskRejectedException e) {
+            markFailed(job.getId(), "Export queue is full");
+            throw new TooManyRequestsException("Export queue is full, please try again later");
+        }
+
+        return mapToResponse(job);
+    }
+
+    /**
+     * Get the status of one of the user's exports
+     */
+    public ExportJobResponse getJob(String jobId, String userEmail) {
+        return mapToResponse(findUserJob(jobId, userEmail));
+    }
+
+    /**
+     * Get the user's most recent exports
+     */
+    public List<ExportJobResponse> getRecentJobs(String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        return exportJobRepository.findByCreatedByOrderByCreatedAtDesc(user, PageRequest.of(0, 20)).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    /**
+     * Get the file of a finished export
+     */
+    public Resource getArtifact(ExportJob job) {
+        if (job.getStatus() != ExportJobStatus.COMPLETED) {
+            throw new ConflictException("Export is not ready for download");
+        }
+
+        Path file = Paths.get(job.getFilePath());
+        if (!Files.isReadable(file)) {
+            throw new NotFoundException("Export file not found");
+        }
+        return new FileSystemResource(file);
+    }
+
+    /**
+     * Get the download file name of an export
+     */
+    public String getFileName(ExportJob job) {
+        return job.getResource().name().toLowerCase() + "-" + job.getId() + "." + job.getFormat().name().toLowerCase();
+    }
+
+    /**
+     * Get one of the user's exports
+     */
+    public ExportJob findUserJob(String jobId, String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        return exportJobRepository.findByIdAndCreatedBy(jobId, user)
+                .orElseThrow(() -> new NotFoundException("Export not found"));
+    }
+
+    /**
+     * Delete expired export files, fail jobs that never finished and remove
+     * files no job needs anymore
+     *
+     * @return The number of jobs and files cleaned up
+     */
+    public long cleanupExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        long cleaned = 0;
+
+        for (ExportJob job : exportJobRepository.findAllByStatusAndExpiresAtBefore(ExportJobStatus.COMPLETED, now)) {
+            if (delete(Paths.get(job.getFilePath())) && changed(() -> exportJobRepository.markExpired(job.getId(), now))) {
+                cleaned++;
+            }
+        }
+
+        LocalDateTime timeout = now.minusMinutes(exportProperties.getJobTimeoutMinutes());
+        for (ExportJob job : exportJobRepository.findAllByStatusInAndCreatedAtBefore(ACTIVE_STATUSES, timeout)) {
+            if (markFailed(job.getId(), "Export timed out")) {
+                deleteFiles(job);
+                cleaned++;
+            }
+        }
+
+        return cleaned + deleteOrphanedFiles(now);
+    }
+
+    private void runJob(String jobId, String userEmail) {
+        ExportJob job = exportJobRepository.findById(jobId).orElse(null);
+        LocalDateTime startedAt = LocalDateTime.now();
+        if (job == null || !changed(() -> exportJobRepository.markRunning(jobId, startedAt))) {
+            // Failed by the cleanup task while it waited for a worker
+            return;
+        }
+
+        Path target = targetFile(job);
+        Path partial = partialFile(target);
+
+        try {
+            Files.createDirectories(target.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                writeExport(job, userEmail, out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+
+            LocalDateTime completedAt = LocalDateTime.now();
+            long fileSize = Files.size(target);
+            if (!changed(() -> exportJobRepository.markCompleted(jobId, target.toString(), fileSize,
+                    completedAt, completedAt.plusHours(exportProperties.getArtifactTtlHours())))) {
+                log.warn("Export {} timed out before it completed, discarding its file", jobId);
+                deleteFiles(job);
+                return;
+            }
+
+            log.info("Export {} completed in {} ms", jobId, Duration.between(startedAt, completedAt).toMillis());
+        } catch (Exception e) {
+            log.error("Export {} failed: {}", jobId, e.getMessage(), e);
+            deleteFiles(job);
+            markFailed(jobId, e.getMessage());
+        }
+    }
+
+    private void writeExport(ExportJob job, String userEmail, OutputStream out) throws IOException {
+        ExportProgressListener listener = (processedRows, totalRows) -> updateProgress(job, processedRows, totalRows);
+
+        if (job.getFormat() == ExportFormat.CSV) {
+            switch (job.getResource()) {
+                case TRANSACTIONS -> exportService.writeTransactionsToCSV(userEmail, out, listener);
+                case BUDGETS -> copy(exportService.exportBudgetsToCSV(userEmail), out);
+                case GOALS -> copy(exportService.exportGoalsToCSV(userEmail), out);
+            }
+        } else {
+            switch (job.getResource()) {
+                case TRANSACTIONS -> exportService.writeTransactionsToPDF(userEmail, out, listener);
+                case BUDGETS -> exportService.writeBudgetsToPDF(userEmail, out, listener);
+                case GOALS -> exportService.writeGoalsToPDF(userEmail, out, listener);
+            }
+        }
+    }
+
+    private void copy(ByteArrayInputStream content, OutputStream out) throws IOException {
+        content.transferTo(out);
+    }
+
+    private void updateProgress(ExportJob job, long processedRows, long totalRows) {
+        long previous = job.getProcessedRows() != null ? job.getProcessedRows() : 0;
+        if (processedRows - previous < PROGRESS_UPDATE_INTERVAL && processedRows < totalRows) {
+            return;
+        }
+
+        job.setProcessedRows(processedRows);
+        // Keep 100 for the point where the file is complete
+        int progress = totalRows > 0 ? (int) Math.min(99, processedRows * 100 / totalRows) : 0;
+        if (!changed(() -> exportJobRepository.updateProgress(
+                job.getId(), processedRows, totalRows, progress, LocalDateTime.now()))) {
+            // Stops the export; the job was failed by the cleanup task
+            throw new IllegalStateException("Export " + job.getId() + " timed out");
+        }
+    }
+
+    private boolean markFailed(String jobId, String message) {
+        return changed(() -> exportJobRepository.markFailed(jobId, message, LocalDateTime.now()));
+    }
+
+    private boolean changed(IntSupplier update) {
+        Integer rows = transactionTemplate.execute(status -> update.getAsInt());
+        return rows != null && rows > 0;
+    }
+
+    // Partial files are removed once they are older than any running export; other files
+    // once they are older than any export that can still be downloaded
+    private long deleteOrphanedFiles(LocalDateTime now) {
+        Path storageDir = Paths.get(exportProperties.getStorageDir());
+        if (!Files.isDirectory(storageDir)) {
+            return 0;
+        }
+
+        Instant partialBefore = toInstant(now.minusMinutes(exportProperties.getJobTimeoutMinutes()));
+        Instant finishedBefore = toInstant(now.minusHours(exportProperties.getArtifactTtlHours())
+                .minusMinutes(exportProperties.getJobTimeoutMinutes()));
+        long deleted = 0;
+        try (Stream<Path> files = Files.list(storageDir)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                Instant modified = Files.getLastModifiedTime(file).toInstant();
+                boolean partial = file.getFileName().toString().endsWith(PARTIAL_SUFFIX);
+                if (modified.isBefore(partial ? partialBefore : finishedBefore) && delete(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list export files in {}: {}", storageDir, e.getMessage());
+        }
+        return deleted;
+    }
+
+    private void deleteFiles(ExportJob job) {
+        Path target = targetFile(job);
+        delete(partialFile(target));
+        delete(target);
+    }
+
+    // Files that can't be deleted now are left to the orphaned file sweep
+    private boolean delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to delete export file {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private Path targetFile(ExportJob job) {
+        return Paths.get(exportProperties.getStorageDir()).resolve(getFileName(job)).toAbsolutePath();
+    }
+
+    private Path partialFile(Path target) {
+        return target.resolveSibling(target.getFileName() + PARTIAL_SUFFIX);
+    }
+
+    private Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private ExportJobResponse mapToResponse(ExportJob job) {
+        return ExportJobResponse.builder()
+                .id(job.getId())
+                .resource(job.getResource())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .progress(job.getProgress())
+                .processedRows(job.getProcessedRows())
+                .totalRows(job.getTotalRows())
+                .fileSize(job.getFileSize())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .expiresAt(job.getExpiresAt())
+                .build();
+    }
+}
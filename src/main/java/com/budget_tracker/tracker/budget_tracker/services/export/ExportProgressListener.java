@@ -0,0 +1,12 @@
+package com.budget_tracker.tracker.budget_tracker.services.export;
+
+/**
+ * Receives progress updates while an export is being written.
+ */
+@FunctionalInterface
+public interface ExportProgressListener {
+
+    ExportProgressListener NONE = (processedRows, totalRows) -> { };
+
+    void onProgress(long processedRows, long totalRows);
+}
@@ -1,13 +1,17 @@
 package com.budget_tracker.tracker.budget_tracker.services.export;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.apache.commons.csv.CSVFormat;
@@ -18,13 +22,13 @@ import org.springframework.stereotype.Service;
 
 import com.budget_tracker.tracker.budget_tracker.entity.Budget;
 import com.budget_tracker.tracker.budget_tracker.entity.Goal;
-import com.budget_tracker.tracker.budget_tracker.entity.Transaction;
 import com.budget_tracker.tracker.budget_tracker.entity.User;
 import com.budget_tracker.tracker.budget_tracker.exception.common.NotFoundException;
 import com.budget_tracker.tracker.budget_tracker.repositories.BudgetRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.GoalRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.TransactionRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.TransactionExportRow;
 import com.itextpdf.text.BaseColor;
 import com.itextpdf.text.Document;
 import com.itextpdf.text.DocumentException;
@@ -50,45 +54,71 @@ public class ExportService {
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    
+    // Later than any stored transaction date, used as the first keyset position
+    private static final LocalDateTime KEYSET_START_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    
     /**
-     * Export user's transactions to CSV format
+     * Write user's transactions to the given stream in CSV format. Rows are read in
+     * keyset-paginated chunks, so memory use does not grow with the history size.
      * 
      * @param userEmail Email of the user
-     * @return CSV content as ByteArrayInputStream
+     * @param out Stream the CSV content is written to; left open
      */
-    public ByteArrayInputStream exportTransactionsToCSV(String userEmail) {
+    public void writeTransactionsToCSV(String userEmail, OutputStream out) {
+        writeTransactionsToCSV(userEmail, out, ExportProgressListener.NONE);
+    }
+    
+    /**
+     * Write user's transactions to the given stream in CSV format, reporting
+     * progress after each chunk.
+     * 
+     * @param userEmail Email of the user
+     * @param out Stream the CSV content is written to; left open
+     * @param listener Receives the number of rows written so far
+     */
+    public void writeTransactionsToCSV(String userEmail, OutputStream out, ExportProgressListener listener) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
+        long totalRows = listener != ExportProgressListener.NONE 
+                ? transactionRepository.countByCreatedBy(user) : -1;
+        long[] processedRows = {0};
         
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
-        List<Transaction> transactions = transactionRepository.findByCreatedByOrderByTransactionDateDesc(user, pageable);
-        
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
-             CSVPrinter csvPrinter = new CSVPrinter(
-                     new OutputStreamWriter(out, StandardCharsets.UTF_8),
-                     CSVFormat.DEFAULT.builder()
-                             .setHeader("ID", "Date", "Description", "Category", "Type", "Amount")
-                             .build())) {
+        try {
+            CSVPrinter csvPrinter = new CSVPrinter(
+                    new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)),
+                    CSVFormat.DEFAULT.builder()
+                            .setHeader("ID", "Date", "Description", "Category", "Type", "Amount")
+                            .build());
             
-            for (Transaction transaction : transactions) {
-                String date = transaction.getTransactionDate() != null 
-                        ? transaction.getTransactionDate().format(DATE_FORMATTER) : "";
-                String category = transaction.getTransactionCategory() != null 
-                        ? transaction.getTransactionCategory().getName() : "";
-                
-                csvPrinter.printRecord(
-                        transaction.getId(),
-                        date,
-                        transaction.getDescription(),
-                        category,
-                        transaction.getType(),
-                        transaction.getAmount()
-                );
-            }
+            forEachTransactionChunk(user, chunk -> {
+                try {
+                    for (TransactionExportRow transaction : chunk) {
+                        String date = transaction.getTransactionDate() != null 
+                                ? transaction.getTransactionDate().format(DATE_FORMATTER) : "";
+                        String category = transaction.getCategoryName() != null 
+                                ? transaction.getCategoryName() : "";
+                        
+                        csvPrinter.printRecord(
+                                transaction.getId(),
+                                date,
+                                transaction.getDescription(),
+                                category,
+                                transaction.getType(),
+                                transaction.getAmount()
+                        );
+                    }
+                    csvPrinter.flush();
+                    processedRows[0] += chunk.size();
+                    listener.onProgress(processedRows[0], totalRows);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
             
             csvPrinter.flush();
-            return new ByteArrayInputStream(out.toByteArray());
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             throw new RuntimeException("Failed to export transactions to CSV: " + e.getMessage());
         }
     }
@@ -178,134 +208,91 @@ public class ExportService {
     }
     
     /**
-     * Export user's transactions to PDF
+     * Write user's transactions to the given stream as a PDF report. Rows are read
+     * and added to the table in chunks, so the table is never held in memory whole.
      * 
      * @param userEmail Email of the user
-     * @return PDF content as ByteArrayInputStream
+     * @param out Stream the PDF content is written to
+     * @param listener Receives the number of rows written so far
      */
-    public ByteArrayInputStream exportTransactionsToPDF(String userEmail) {
+    public void writeTransactionsToPDF(String userEmail, OutputStream out, ExportProgressListener listener) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
+        long totalRows = transactionRepository.countByCreatedBy(user);
+        long[] processedRows = {0};
         
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
-        List<Transaction> transactions = transactionRepository.findByCreatedByOrderByTransactionDateDesc(user, pageable);
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
         Document document = new Document();
         
         try {
             PdfWriter.getInstance(document, out);
             document.open();
-            
-            // Add title
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, BaseColor.BLACK);
-            Paragraph title = new Paragraph("Transactions Report", titleFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            document.add(title);
-            document.add(new Paragraph(" ")); // Add space
-            
-            // Add timestamp
-            Font timestampFont = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.GRAY);
-            Paragraph timestamp = new Paragraph("Generated on: " + 
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")), 
-                    timestampFont);
-            timestamp.setAlignment(Element.ALIGN_RIGHT);
-            document.add(timestamp);
-            document.add(new Paragraph(" ")); // Add space
+            addReportHeader(document, "Transactions Report");
             
             // Create table
             PdfPTable table = new PdfPTable(5); // 5 columns
             table.setWidthPercentage(100);
             table.setWidths(new float[]{2, 5, 3, 2, 2});
+            table.setHeaderRows(1);
+            table.setComplete(false);
+            addHeaderCells(table, "Date", "Description", "Category", "Type", "Amount");
             
-            // Add table headers
-            Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
-            Stream.of("Date", "Description", "Category", "Type", "Amount")
-                    .forEach(columnTitle -> {
-                        PdfPCell header = new PdfPCell();
-                        header.setBackgroundColor(BaseColor.LIGHT_GRAY);
-                        header.setBorderWidth(1);
-                        header.setHorizontalAlignment(Element.ALIGN_CENTER);
-                        header.setVerticalAlignment(Element.ALIGN_MIDDLE);
-                        header.setPhrase(new Phrase(columnTitle, headerFont));
-                        table.addCell(header);
-                    });
-            
-            // Add data rows
-            for (Transaction transaction : transactions) {
-                String date = transaction.getTransactionDate() != null 
-                        ? transaction.getTransactionDate().format(DATE_FORMATTER) : "";
-                String category = transaction.getTransactionCategory() != null 
-                        ? transaction.getTransactionCategory().getName() : "";
+            // Add data rows, flushing the finished rows to the document after each chunk
+            forEachTransactionChunk(user, chunk -> {
+                for (TransactionExportRow transaction : chunk) {
+                    String date = transaction.getTransactionDate() != null 
+                            ? transaction.getTransactionDate().format(DATE_FORMATTER) : "";
+                    String category = transaction.getCategoryName() != null 
+                            ? transaction.getCategoryName() : "";
+                    
+                    table.addCell(date);
+                    table.addCell(transaction.getDescription());
+                    table.addCell(category);
+                    table.addCell(transaction.getType().toString());
+                    table.addCell(String.format("$%.2f", transaction.getAmount()));
+                }
                 
-                table.addCell(date);
-                table.addCell(transaction.getDescription());
-                table.addCell(category);
-                table.addCell(transaction.getType().toString());
-                table.addCell(String.format("$%.2f", transaction.getAmount()));
-            }
+                try {
+                    document.add(table);
+                } catch (DocumentException e) {
+                    throw new IllegalStateException(e);
+                }
+                processedRows[0] += chunk.size();
+                listener.onProgress(processedRows[0], totalRows);
+            });
             
+            table.setComplete(true);
             document.add(table);
             document.close();
-            
-            return new ByteArrayInputStream(out.toByteArray());
-        } catch (DocumentException e) {
+        } catch (DocumentException | IllegalStateException e) {
             throw new RuntimeException("Failed to export transactions to PDF: " + e.getMessage());
         }
     }
     
     /**
-     * Export user's budgets to PDF
+     * Write user's budgets to the given stream as a PDF report
      * 
      * @param userEmail Email of the user
-     * @return PDF content as ByteArrayInputStream
+     * @param out Stream the PDF content is written to
+     * @param listener Receives the number of rows written
      */
-    public ByteArrayInputStream exportBudgetsToPDF(String userEmail) {
+    public void writeBudgetsToPDF(String userEmail, OutputStream out, ExportProgressListener listener) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         
         List<Budget> budgets = budgetRepository.findAllByCreatedBy(user);
         
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
         Document document = new Document();
         
         try {
             PdfWriter.getInstance(document, out);
             document.open();
-            
-            // Add title
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, BaseColor.BLACK);
-            Paragraph title = new Paragraph("Budgets Report", titleFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            document.add(title);
-            document.add(new Paragraph(" ")); // Add space
-            
-            // Add timestamp
-            Font timestampFont = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.GRAY);
-            Paragraph timestamp = new Paragraph("Generated on: " + 
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")), 
-                    timestampFont);
-            timestamp.setAlignment(Element.ALIGN_RIGHT);
-            document.add(timestamp);
-            document.add(new Paragraph(" ")); // Add space
+            addReportHeader(document, "Budgets Report");
             
             // Create table
             PdfPTable table = new PdfPTable(4); // 4 columns
             table.setWidthPercentage(100);
             table.setWidths(new float[]{5, 8, 4, 3});
-            
-            // Add table headers
-            Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
-            Stream.of("Name", "Description", "Category", "Amount")
-                    .forEach(columnTitle -> {
-                        PdfPCell header = new PdfPCell();
-                        header.setBackgroundColor(BaseColor.LIGHT_GRAY);
-                        header.setBorderWidth(1);
-                        header.setHorizontalAlignment(Element.ALIGN_CENTER);
-                        header.setVerticalAlignment(Element.ALIGN_MIDDLE);
-                        header.setPhrase(new Phrase(columnTitle, headerFont));
-                        table.addCell(header);
-                    });
+            addHeaderCells(table, "Name", "Description", "Category", "Amount");
             
             // Add data rows
             for (Budget budget : budgets) {
@@ -320,65 +307,37 @@ public class ExportService {
             
             document.add(table);
             document.close();
-            
-            return new ByteArrayInputStream(out.toByteArray());
+            listener.onProgress(budgets.size(), budgets.size());
         } catch (DocumentException e) {
             throw new RuntimeException("Failed to export budgets to PDF: " + e.getMessage());
         }
     }
     
     /**
-     * Export user's goals to PDF
+     * Write user's goals to the given stream as a PDF report
      * 
      * @param userEmail Email of the user
-     * @return PDF content as ByteArrayInputStream
+     * @param out Stream the PDF content is written to
+     * @param listener Receives the number of rows written
      */
-    public ByteArrayInputStream exportGoalsToPDF(String userEmail) {
+    public void writeGoalsToPDF(String userEmail, OutputStream out, ExportProgressListener listener) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         
         List<Goal> goals = goalRepository.findAllByCreatedBy(user);
         
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
         Document document = new Document();
         
         try {
             PdfWriter.getInstance(document, out);
             document.open();
-            
-            // Add title
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, BaseColor.BLACK);
-            Paragraph title = new Paragraph("Financial Goals Report", titleFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            document.add(title);
-            document.add(new Paragraph(" ")); // Add space
-            
-            // Add timestamp
-            Font timestampFont = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.GRAY);
-            Paragraph timestamp = new Paragraph("Generated on: " + 
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")), 
-                    timestampFont);
-            timestamp.setAlignment(Element.ALIGN_RIGHT);
-            document.add(timestamp);
-            document.add(new Paragraph(" ")); // Add space
+            addReportHeader(document, "Financial Goals Report");
             
             // Create table
             PdfPTable table = new PdfPTable(6); // 6 columns
             table.setWidthPercentage(100);
             table.setWidths(new float[]{5, 5, 3, 3, 3, 3});
-            
-            // Add table headers
-            Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
-            Stream.of("Name", "Description", "Target ($)", "Current ($)", "Progress (%)", "Status")
-                    .forEach(columnTitle -> {
-                        PdfPCell header = new PdfPCell();
-                        header.setBackgroundColor(BaseColor.LIGHT_GRAY);
-                        header.setBorderWidth(1);
-                        header.setHorizontalAlignment(Element.ALIGN_CENTER);
-                        header.setVerticalAlignment(Element.ALIGN_MIDDLE);
-                        header.setPhrase(new Phrase(columnTitle, headerFont));
-                        table.addCell(header);
-                    });
+            addHeaderCells(table, "Name", "Description", "Target ($)", "Current ($)", "Progress (%)", "Status");
             
             // Add data rows
             for (Goal goal : goals) {
@@ -397,10 +356,71 @@ public class ExportService {
             
             document.add(table);
             document.close();
-            
-            return new ByteArrayInputStream(out.toByteArray());
+            listener.onProgress(goals.size(), goals.size());
         } catch (DocumentException e) {
             throw new RuntimeException("Failed to export goals to PDF: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+    
+    private void addReportHeader(Document document, String reportTitle) throws DocumentException {
+        // Add title
+        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, BaseColor.BLACK);
+        Paragraph title = new Paragraph(reportTitle, titleFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+        document.add(new Paragraph(" ")); // Add space
+        
+        // Add timestamp
+        Font timestampFont = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.GRAY);
+        Paragraph timestamp = new Paragraph("Generated on: " + 
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")), 
+                timestampFont);
+        timestamp.setAlignment(Element.ALIGN_RIGHT);
+        document.add(timestamp);
+        document.add(new Paragraph(" ")); // Add space
+    }
+    
+    private void addHeaderCells(PdfPTable table, String... columnTitles) {
+        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
+        Stream.of(columnTitles)
+                .forEach(columnTitle -> {
+                    PdfPCell header = new PdfPCell();
+                    header.setBackgroundColor(BaseColor.LIGHT_GRAY);
+                    header.setBorderWidth(1);
+                    header.setHorizontalAlignment(Element.ALIGN_CENTER);
+                    header.setVerticalAlignment(Element.ALIGN_MIDDLE);
+                    header.setPhrase(new Phrase(columnTitle, headerFont));
+                    table.addCell(header);
+                });
+    }
+    
+    /**
+     * Read all of a user's transactions, newest first, one chunk at a time.
+     * Rows without a transaction date come first, as in the date-ordered listing.
+     */
+    private void forEachTransactionChunk(User user, Consumer<List<TransactionExportRow>> consumer) {
+        Pageable chunk = PageRequest.of(0, EXPORT_CHUNK_SIZE);
+        
+        Long afterId = Long.MAX_VALUE;
+        List<TransactionExportRow> rows;
+        do {
+            rows = transactionRepository.findExportRowsWithoutDate(user, afterId, chunk);
+            if (!rows.isEmpty()) {
+                consumer.accept(rows);
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+        } while (rows.size() == EXPORT_CHUNK_SIZE);
+        
+        LocalDateTime afterDate = KEYSET_START_DATE;
+        afterId = Long.MAX_VALUE;
+        do {
+            rows = transactionRepository.findExportRows(user, afterDate, afterId, chunk);
+            if (!rows.isEmpty()) {
+                consumer.accept(rows);
+                TransactionExportRow last = rows.get(rows.size() - 1);
+                afterDate = last.getTransactionDate();
+                afterId = last.getId();
+            }
+        } while (rows.size() == EXPORT_CHUNK_SIZE);
+    }
+}
@@ -2,6 +2,7 @@ package com.budget_tracker.tracker.budget_tracker.services.gamification;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,7 @@ import com.budget_tracker.tracker.budget_tracker.entity.UserProgress;
 import com.budget_tracker.tracker.budget_tracker.enums.AchievementType;
 import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
 import com.budget_tracker.tracker.budget_tracker.repositories.AchievementRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.TransactionRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.UserProgressRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
 
@@ -29,6 +31,7 @@ public class GamificationService {
     private final UserRepository userRepository;
     private final UserProgressRepository userProgressRepository;
     private final AchievementRepository achievementRepository;
+    private final TransactionRepository transactionRepository;
     
     /**
      * Initialize user's progress when they first sign up
@@ -92,6 +95,40 @@ public class GamificationService {
         userProgressRepository.save(progress);
     }
     
+    /**
+     * Process a stored transaction for gamification, if it still exists
+     */
+    @Transactional
+    public void processTransaction(Long transactionId) {
+        transactionRepository.findWithCategoryById(transactionId).ifPresent(this::processTransaction);
+    }
+    
+    /**
+     * Process a batch of the user's transactions for gamification, loading
+     * and saving the user's progress once
+     */
+    @Transactional
+    public void processTransactions(User user, List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        UserProgress progress = getUserProgressOrCreate(user);
+        for (Transaction transaction : transactions) {
+            addXp(progress, 5);
+        }
+
+        // Streaks are only meaningful in date order
+        transactions.stream()
+            .filter(transaction -> transaction.getTransactionDate() != null)
+            .filter(transaction -> transaction.getType() == CategoryType.INCOME || 
+                transaction.getTransactionCategory().getName().toLowerCase().contains("saving"))
+            .sorted(Comparator.comparing(Transaction::getTransactionDate))
+            .forEach(transaction -> processSavingTransaction(transaction, user, progress));
+
+        userProgressRepository.save(progress);
+    }
+    
     private void processSavingTransaction(Transaction transaction, User user, UserProgress progress) {
         LocalDateTime transactionDate = transaction.getTransactionDate();
         
@@ -0,0 +1,30 @@
+package com.budget_tracker.tracker.budget_tracker.services.gamification;
+
+import org.springframework.stereotype.Component;
+
+import com.budget_tracker.tracker.budget_tracker.services.events.DomainEventSubscriber;
+import com.budget_tracker.tracker.budget_tracker.services.events.TransactionChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Awards XP, streaks and achievements for created and updated transactions
+ */
+@Component
+@RequiredArgsConstructor
+public class GamificationSubscriber implements DomainEventSubscriber<TransactionChangedEvent> {
+
+    private final GamificationService gamificationService;
+
+    @Override
+    public Class<TransactionChangedEvent> eventType() {
+        return TransactionChangedEvent.class;
+    }
+
+    @Override
+    public void handle(TransactionChangedEvent event) {
+        if (event.current() != null) {
+            gamificationService.processTransaction(event.current().id());
+        }
+    }
+}
@@ -2,20 +2,25 @@ package com.budget_tracker.tracker.budget_tracker.services.goal;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import com.budget_tracker.tracker.budget_tracker.controller.goal.dto.CreateGoalRequest;
+import com.budget_tracker.tracker.budget_tracker.controller.goal.dto.GoalResponse;
 import com.budget_tracker.tracker.budget_tracker.controller.goal.dto.UpdateGoalRequest;
 import com.budget_tracker.tracker.budget_tracker.entity.Categories;
 import com.budget_tracker.tracker.budget_tracker.entity.Goal;
+import com.budget_tracker.tracker.budget_tracker.enums.ChangeType;
 import com.budget_tracker.tracker.budget_tracker.enums.GoalStatus;
 import com.budget_tracker.tracker.budget_tracker.exception.common.NotFoundException;
 import com.budget_tracker.tracker.budget_tracker.exception.common.UnauthorizedException;
 import com.budget_tracker.tracker.budget_tracker.repositories.CategoriesRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.GoalRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.GoalRow;
+import com.budget_tracker.tracker.budget_tracker.services.events.GoalChangedEvent;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,6 +31,7 @@ public class GoalService {
     private final GoalRepository goalRepository;
     private final UserRepository userRepository;
     private final CategoriesRepository categoriesRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void createGoal(CreateGoalRequest request, String userEmail) {
         var user = userRepository.findByEmail(userEmail)
@@ -53,44 +59,45 @@ public class GoalService {
         }
 
         goalRepository.save(goal);
+        eventPublisher.publishEvent(GoalChangedEvent.of(ChangeType.CREATED, goal, null));
     }
 
-    public List<Goal> getAllGoals(String userEmail) {
+    public List<GoalResponse> getAllGoals(String userEmail) {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        return goalRepository.findAllByCreatedBy(user);
+        return goalRepository.findRowsByCreatedBy(user).stream().map(this::mapToResponse).toList();
     }
 
-    public Goal getGoalById(Long id, String userEmail) {
+    public GoalResponse getGoalById(Long id, String userEmail) {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        var goal = goalRepository.findById(id)
+        var goal = goalRepository.findRowById(id)
                 .orElseThrow(() -> new NotFoundException("Goal not found"));
 
-        if (!goal.getCreatedBy().getId().equals(user.getId())) {
+        if (!goal.getCreatedById().equals(user.getId())) {
             throw new UnauthorizedException("You are not authorized to access this goal");
         }
 
-        return goal;
+        return mapToResponse(goal);
     }
 
-    public List<Goal> getGoalsByStatus(GoalStatus status, String userEmail) {
+    public List<GoalResponse> getGoalsByStatus(GoalStatus status, String userEmail) {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        return goalRepository.findAllByCreatedByAndStatus(user, status);
+        return goalRepository.findRowsByCreatedByAndStatus(user, status).stream().map(this::mapToResponse).toList();
     }
 
-    public List<Goal> getGoalsByCategory(Long categoryId, String userEmail) {
+    public List<GoalResponse> getGoalsByCategory(Long categoryId, String userEmail) {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
         var category = categoriesRepository.findById(categoryId)
                 .orElseThrow(() -> new NotFoundException("Category not found"));
 
-        return goalRepository.findAllByCreatedByAndCategory(user, category);
+        return goalRepository.findRowsByCreatedByAndCategory(user, category).stream().map(this::mapToResponse).toList();
     }
 
     public void updateGoal(Long id, UpdateGoalRequest request, String userEmail) {
@@ -104,6 +111,8 @@ public class GoalService {
             throw new UnauthorizedException("You are not authorized to update this goal");
         }
 
+        GoalStatus previousStatus = goal.getStatus();
+
         if (request.getName() != null) {
             goal.setName(request.getName());
         }
@@ -149,6 +158,7 @@ public class GoalService {
         }
 
         goalRepository.save(goal);
+        eventPublisher.publishEvent(GoalChangedEvent.of(ChangeType.UPDATED, goal, previousStatus));
     }
 
     public void deleteGoal(Long id, String userEmail) {
@@ -163,16 +173,20 @@ public class GoalService {
         }
 
         goalRepository.delete(goal);
+        eventPublisher.publishEvent(GoalChangedEvent.of(ChangeType.DELETED, goal, goal.getStatus()));
     }
 
-    public Page<Goal> getGoalsByFilters(
+    public Page<GoalResponse> getGoalsByFilters(
             String keyword, String status, Long categoryId, String userEmail, Pageable pageable) {
         
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        return goalRepository.findByFilters(
-                keyword, status, categoryId, user.getId(), pageable);
+        // Rank keyword matches unless the client chose a sort
+        Page<GoalRow> goals = (keyword != null && !keyword.isBlank() && pageable.getSort().isUnsorted())
+                ? goalRepository.searchByKeyword(keyword, status, categoryId, user.getId(), pageable)
+                : goalRepository.findByFilters(keyword, status, categoryId, user.getId(), pageable);
+        return goals.map(this::mapToResponse);
     }
 
     /**
@@ -184,7 +198,7 @@ public class GoalService {
      * @param userEmail The email of the user making the update
      * @return The updated goal with new progress
      */
-    public Goal updateGoalProgress(Long goalId, Double amount, String userEmail) {
+    public GoalResponse updateGoalProgress(Long goalId, Double amount, String userEmail) {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
@@ -195,6 +209,8 @@ public class GoalService {
             throw new UnauthorizedException("You are not authorized to update this goal");
         }
         
+        GoalStatus previousStatus = goal.getStatus();
+
         // Update current amount
         Double newAmount = goal.getCurrentAmount() + amount;
         goal.setCurrentAmount(newAmount);
@@ -207,6 +223,28 @@ public class GoalService {
             goal.setStatus(GoalStatus.IN_PROGRESS);
         }
         
-        return goalRepository.save(goal);
+        Goal savedGoal = goalRepository.save(goal);
+        eventPublisher.publishEvent(GoalChangedEvent.of(ChangeType.UPDATED, savedGoal, previousStatus));
+        return goalRepository.findRowById(goalId)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new NotFoundException("Goal not found"));
+    }
+
+    private GoalResponse mapToResponse(GoalRow goal) {
+        return GoalResponse.builder()
+                .id(goal.getId())
+                .name(goal.getName())
+                .description(goal.getDescription())
+                .targetAmount(goal.getTargetAmount())
+                .currentAmount(goal.getCurrentAmount())
+                .targetDate(goal.getTargetDate())
+                .status(goal.getStatus())
+                .createdAt(goal.getCreatedAt())
+                .updatedAt(goal.getUpdatedAt())
+                .category(goal.getCategoryId() != null
+                        ? new GoalResponse.CategoryItem(goal.getCategoryId(), goal.getCategoryName(),
+                                goal.getCategoryDescription(), goal.getCategoryType())
+                        : null)
+                .build();
     }
 } 
\ No newline at end of file
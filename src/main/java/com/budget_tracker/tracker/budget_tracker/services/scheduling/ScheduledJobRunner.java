@@ -0,0 +1,122 @@
+package com.budget_tracker.tracker.budget_tracker.services.scheduling;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.LongSupplier;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.budget_tracker.tracker.budget_tracker.config.SchedulingProperties;
+import com.budget_tracker.tracker.budget_tracker.entity.ScheduledJobRun;
+import com.budget_tracker.tracker.budget_tracker.enums.ScheduledJobStatus;
+import com.budget_tracker.tracker.budget_tracker.repositories.ScheduledJobRunRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs scheduled jobs on one node of the cluster at a time. A job runs only
+ * after its lease row is taken; other nodes firing the same schedule find the
+ * lease held and skip. Every run is recorded in the job history.
+ */
+@Slf4j
+@Service
+public class ScheduledJobRunner {
+
+    // Takes the lease when it is free or expired; updates no row when another node holds it
+    private static final String ACQUIRE_SQL = "INSERT INTO scheduler_leases (name, locked_by, locked_at, locked_until) "
+            + "VALUES (?, ?, now(), now() + ? * interval '1 second') "
+            + "ON CONFLICT (name) DO UPDATE SET locked_by = EXCLUDED.locked_by, "
+            + "locked_at = EXCLUDED.locked_at, locked_until = EXCLUDED.locked_until "
+            + "WHERE scheduler_leases.locked_until <= now()";
+
+    // Keeps the lease until the minimum hold time has passed
+    private static final String RELEASE_SQL = "UPDATE scheduler_leases "
+            + "SET locked_until = GREATEST(now(), locked_at + ? * interval '1 second') "
+            + "WHERE name = ? AND locked_by = ?";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledJobRunRepository scheduledJobRunRepository;
+    private final SchedulingProperties schedulingProperties;
+    private final String nodeId;
+
+    public ScheduledJobRunner(
+            JdbcTemplate jdbcTemplate,
+            ScheduledJobRunRepository scheduledJobRunRepository,
+            SchedulingProperties schedulingProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scheduledJobRunRepository = scheduledJobRunRepository;
+        this.schedulingProperties = schedulingProperties;
+        this.nodeId = StringUtils.hasText(schedulingProperties.getNodeId())
+                ? schedulingProperties.getNodeId()
+                : hostName() + ":" + ProcessHandle.current().pid();
+    }
+
+    /**
+     * Run one shard of a job, or the whole job when shard is null, unless
+     * another node holds its lease. The job returns the number of rows it
+     * processed. Returns whether the job ran on this node; a failure of the
+     * job is recorded and rethrown.
+     */
+    public boolean runExclusive(String jobName, Integer shard, LongSupplier job) {
+        String leaseName = shard == null ? jobName : jobName + ":" + shard;
+        if (jdbcTemplate.update(ACQUIRE_SQL, leaseName, nodeId, schedulingProperties.getLeaseMaxSeconds()) == 0) {
+            log.debug("Skipping {}, the lease is held by another node", leaseName);
+            return false;
+        }
+
+        ScheduledJobRun run = ScheduledJobRun.builder()
+                .jobName(jobName)
+                .shard(shard)
+                .nodeId(nodeId)
+                .startedAt(LocalDateTime.now())
+                .build();
+        try {
+            run.setRowsProcessed(job.getAsLong());
+            run.setStatus(ScheduledJobStatus.SUCCEEDED);
+        } catch (RuntimeException e) {
+            run.setStatus(ScheduledJobStatus.FAILED);
+            run.setErrorMessage(truncate(e.getMessage()));
+            throw e;
+        } finally {
+            run.setFinishedAt(LocalDateTime.now());
+            run.setDurationMs(Duration.between(run.getStartedAt(), run.getFinishedAt()).toMillis());
+            record(run);
+            jdbcTemplate.update(RELEASE_SQL, schedulingProperties.getLeaseMinSeconds(), leaseName, nodeId);
+        }
+
+        log.info("{} ran on {} in {} ms, {} rows processed",
+                leaseName, nodeId, run.getDurationMs(), run.getRowsProcessed());
+        return true;
+    }
+
+    // The history is best effort, it must not hide the outcome of the job
+    private void record(ScheduledJobRun run) {
+        try {
+            scheduledJobRunRepository.save(run);
+        } catch (RuntimeException e) {
+            log.warn("Failed to record the run of {}: {}", run.getJobName(), e.getMessage());
+        }
+    }
+
+    private String truncate(String message) {
+        return message != null && message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private static String hostName() {
+        String hostName = System.getenv("HOSTNAME");
+        if (StringUtils.hasText(hostName)) {
+            return hostName;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
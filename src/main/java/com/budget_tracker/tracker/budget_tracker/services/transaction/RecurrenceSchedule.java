@@ -0,0 +1,83 @@
+package com.budget_tracker.tracker.budget_tracker.services.transaction;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+
+import com.budget_tracker.tracker.budget_tracker.entity.RecurringTransaction;
+import com.budget_tracker.tracker.budget_tracker.enums.RecurrenceType;
+
+/**
+ * Occurrence dates of recurring transactions. Schedules are anchored on their
+ * start date (or creation date): weekly ones repeat on its weekday and yearly
+ * ones in its month. Monthly and yearly schedules fall on their day of month,
+ * or on the last day of months that are shorter.
+ */
+final class RecurrenceSchedule {
+
+    private RecurrenceSchedule() {
+    }
+
+    /**
+     * Get the first occurrence on or after the given day, or null once the
+     * schedule has ended
+     */
+    static LocalDate firstOnOrAfter(RecurringTransaction recurringTransaction, LocalDate from) {
+        LocalDate anchor = anchor(recurringTransaction);
+        LocalDate start = from.isBefore(anchor) ? anchor : from;
+        int dayOfMonth = dayOfMonth(recurringTransaction, anchor);
+        RecurrenceType type = recurringTransaction.getRecurrenceType() != null
+                ? recurringTransaction.getRecurrenceType()
+                : RecurrenceType.MONTHLY;
+
+        LocalDate next = switch (type) {
+            case DAILY -> start;
+            case WEEKLY -> start.with(TemporalAdjusters.nextOrSame(anchor.getDayOfWeek()));
+            case MONTHLY -> monthly(start, dayOfMonth);
+            case YEARLY -> yearly(start, anchor.getMonth(), dayOfMonth);
+        };
+
+        if (recurringTransaction.getEndDate() != null && next.isAfter(recurringTransaction.getEndDate().toLocalDate())) {
+            return null;
+        }
+        return next;
+    }
+
+    /**
+     * Get the occurrence following the given one, or null once the schedule has ended
+     */
+    static LocalDate nextAfter(RecurringTransaction recurringTransaction, LocalDate occurrence) {
+        return firstOnOrAfter(recurringTransaction, occurrence.plusDays(1));
+    }
+
+    private static LocalDate monthly(LocalDate start, int dayOfMonth) {
+        YearMonth month = YearMonth.from(start);
+        LocalDate candidate = dayIn(month, dayOfMonth);
+        return candidate.isBefore(start) ? dayIn(month.plusMonths(1), dayOfMonth) : candidate;
+    }
+
+    private static LocalDate yearly(LocalDate start, Month month, int dayOfMonth) {
+        LocalDate candidate = dayIn(YearMonth.of(start.getYear(), month), dayOfMonth);
+        return candidate.isBefore(start) ? dayIn(YearMonth.of(start.getYear() + 1, month), dayOfMonth) : candidate;
+    }
+
+    private static LocalDate dayIn(YearMonth month, int dayOfMonth) {
+        return month.atDay(Math.min(dayOfMonth, month.lengthOfMonth()));
+    }
+
+    private static int dayOfMonth(RecurringTransaction recurringTransaction, LocalDate anchor) {
+        Integer dayOfMonth = recurringTransaction.getDayOfMonth();
+        return dayOfMonth != null && dayOfMonth >= 1 && dayOfMonth <= 31 ? dayOfMonth : anchor.getDayOfMonth();
+    }
+
+    private static LocalDate anchor(RecurringTransaction recurringTransaction) {
+        if (recurringTransaction.getStartDate() != null) {
+            return recurringTransaction.getStartDate().toLocalDate();
+        }
+        if (recurringTransaction.getCreatedAt() != null) {
+            return recurringTransaction.getCreatedAt().toLocalDate();
+        }
+        return LocalDate.now();
+    }
+}
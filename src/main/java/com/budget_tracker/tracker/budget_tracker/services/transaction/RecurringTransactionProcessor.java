@@ -0,0 +1,330 @@
+package com.budget_tracker.tracker.budget_tracker.services.transaction;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.budget_tracker.tracker.budget_tracker.config.RecurringProperties;
+import com.budget_tracker.tracker.budget_tracker.entity.RecurringTransaction;
+import com.budget_tracker.tracker.budget_tracker.entity.Transaction;
+import com.budget_tracker.tracker.budget_tracker.repositories.RecurringTransactionRepository;
+import com.budget_tracker.tracker.budget_tracker.services.dashboard.SpendingRollupService;
+import com.budget_tracker.tracker.budget_tracker.services.events.TransactionChangedEvent;
+import com.budget_tracker.tracker.budget_tracker.services.events.TransactionSnapshot;
+import com.budget_tracker.tracker.budget_tracker.services.scheduling.ScheduledJobRunner;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Posts the transactions of due recurring schedules. Each schedule carries the
+ * day of its next occurrence, so a run range scans the due schedules in chunks
+ * and advances them once posted; each chunk is committed on its own, so a
+ * failure only rolls back its chunk. Every occurrence is claimed in the run
+ * ledger before it is posted, which makes runs safe to repeat.
+ * <p>
+ * Occurrences missed while the app was down stay due and are posted with
+ * their original dates, one per pass of the scan; the scan is repeated until
+ * no schedule is left due. Schedules are split into user shards that run
+ * under their own lease, so a run is shared by the nodes that take a shard
+ * and never repeated by the others.
+ */
+@Slf4j
+@Service
+public class RecurringTransactionProcessor {
+
+    // Claims the occurrences of a chunk; returns the schedules that were not posted yet
+    private static final String CLAIM_SQL = "INSERT INTO recurring_transaction_runs "
+            + "(recurring_transaction_id, occurrence_date, transaction_id, created_at) "
+            + "SELECT c.recurring_transaction_id, c.occurrence_date, c.transaction_id, now() "
+            + "FROM unnest(CAST(? AS bigint[]), CAST(? AS date[]), CAST(? AS bigint[])) "
+            + "AS c(recurring_transaction_id, occurrence_date, transaction_id) "
+            + "ON CONFLICT (recurring_transaction_id, occurrence_date) DO NOTHING "
+            + "RETURNING recurring_transaction_id";
+
+    // Package-private for RecurringScheduleBenchmark
+    static final String ADVANCE_SQL = "UPDATE recurring_transactions rt SET next_run_at = c.next_run_at "
+            + "FROM unnest(CAST(? AS bigint[]), CAST(? AS timestamp[])) AS c(id, next_run_at) "
+            + "WHERE rt.id = c.id";
+
+    private static final String AUTOMATED_SUFFIX = " (Automated)";
+
+    private static final String JOB_NAME = "recurring-transactions";
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SpendingRollupService spendingRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecurringProperties recurringProperties;
+    private final ScheduledJobRunner scheduledJobRunner;
+    private final Counter postedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+    private final Timer runTimer;
+
+    public RecurringTransactionProcessor(
+            RecurringTransactionRepository recurringTransactionRepository,
+            TransactionBatchWriter transactionBatchWriter,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            SpendingRollupService spendingRollupService,
+            ApplicationEventPublisher eventPublisher,
+            RecurringProperties recurringProperties,
+            ScheduledJobRunner scheduledJobRunner,
+            MeterRegistry meterRegistry) {
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.transactionBatchWriter = transactionBatchWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.spendingRollupService = spendingRollupService;
+        this.eventPublisher = eventPublisher;
+        this.recurringProperties = recurringProperties;
+        this.scheduledJobRunner = scheduledJobRunner;
+        this.postedCounter = Counter.builder("recurring.transactions.posted")
+                .description("Recurring transactions posted")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("recurring.transactions.skipped")
+                .description("Due occurrences skipped because they were already posted or too old")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("recurring.transactions.failed")
+                .description("Due occurrences that could not be posted")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("recurring.transactions.run")
+                .description("Time taken by a recurring transaction run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedule the next run of schedules that don't have one yet, then post
+     * the occurrences missed while the app was down
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        scheduleUnscheduled(LocalDate.now());
+        if (recurringProperties.isCatchUpOnStartup()) {
+            run(LocalDate.now());
+        }
+    }
+
+    /**
+     * Post the occurrences due up to the given day for every shard whose lease
+     * this node gets
+     */
+    public void run(LocalDate today) {
+        int shardCount = Math.max(1, recurringProperties.getShards());
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            try {
+                scheduledJobRunner.runExclusive(JOB_NAME, current,
+                        () -> processDueOccurrences(today, current, shardCount));
+            } catch (RuntimeException e) {
+                // Recorded in the job history; the other shards still run
+                log.error("Recurring transactions of shard {}/{} failed: {}",
+                        current, shardCount, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Post every occurrence of a shard due up to and including the given day
+     */
+    public long processDueOccurrences(LocalDate today, int shard, int shardCount) {
+        int chunkSize = recurringProperties.getChunkSize();
+        LocalDateTime until = today.atStartOfDay();
+        LocalDate earliest = today.minusDays(recurringProperties.getMaxCatchUpDays());
+
+        Timer.Sample sample = Timer.start();
+        long posted = 0;
+        ChunkResult pass;
+        do {
+            // A pass moves each due schedule on by one occurrence. Schedules advanced to a day
+            // that is still due may fall behind the scan position, so they get another pass.
+            pass = ChunkResult.NONE;
+            List<RecurringTransaction> chunk = recurringTransactionRepository.findDue(
+                    until, shard, shardCount, PageRequest.of(0, chunkSize));
+            while (!chunk.isEmpty()) {
+                pass = pass.plus(postChunk(chunk, today, earliest));
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+
+                RecurringTransaction last = chunk.get(chunk.size() - 1);
+                chunk = recurringTransactionRepository.findDueAfter(until, shard, shardCount,
+                        last.getNextRunAt(), last.getId(), PageRequest.of(0, chunkSize));
+            }
+            posted += pass.posted();
+        } while (pass.stillDue() > 0);
+        long elapsedNanos = sample.stop(runTimer);
+
+        log.info("Posted {} recurring transactions of shard {}/{} due by {} in {} ms",
+                posted, shard, shardCount, today, elapsedNanos / 1_000_000);
+        return posted;
+    }
+
+    /**
+     * Set the next run of active schedules without one, from the given day on
+     */
+    public long scheduleUnscheduled(LocalDate today) {
+        int chunkSize = recurringProperties.getChunkSize();
+        long scheduled = 0;
+        Long afterId = 0L;
+
+        List<RecurringTransaction> chunk;
+        do {
+            Long after = afterId;
+            chunk = transactionTemplate.execute(status -> {
+                List<RecurringTransaction> unscheduled = recurringTransactionRepository.findUnscheduled(
+                        today.atStartOfDay(), after, PageRequest.of(0, chunkSize));
+                for (RecurringTransaction recurringTransaction : unscheduled) {
+                    LocalDate nextRun = RecurrenceSchedule.firstOnOrAfter(recurringTransaction, today);
+                    recurringTransaction.setNextRunAt(nextRun != null ? nextRun.atStartOfDay() : null);
+                }
+                return unscheduled;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+            scheduled += chunk.size();
+        } while (chunk.size() == chunkSize);
+
+        if (scheduled > 0) {
+            log.info("Scheduled the next run of {} recurring transactions", scheduled);
+        }
+        return scheduled;
+    }
+
+    // A failed chunk is retried one schedule at a time to isolate the bad row, which stays
+    // where it is until the next run
+    private ChunkResult postChunk(List<RecurringTransaction> chunk, LocalDate today, LocalDate earliest) {
+        try {
+            ChunkResult result = transactionTemplate.execute(status -> post(chunk, today, earliest));
+            return result != null ? result : ChunkResult.NONE;
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                failedCounter.increment();
+                log.error("Failed to post recurring transaction {} due {}: {}",
+                        chunk.get(0).getId(), chunk.get(0).getNextRunAt(), e.getMessage(), e);
+                return ChunkResult.NONE;
+            }
+
+            log.warn("Failed to post a chunk of {} recurring transactions, retrying one by one: {}",
+                    chunk.size(), e.getMessage());
+            ChunkResult result = ChunkResult.NONE;
+            for (RecurringTransaction recurringTransaction : chunk) {
+                result = result.plus(postChunk(List.of(recurringTransaction), today, earliest));
+            }
+            return result;
+        }
+    }
+
+    private ChunkResult post(List<RecurringTransaction> due, LocalDate today, LocalDate earliest) {
+        List<RecurringTransaction> postable = new ArrayList<>(due.size());
+        List<LocalDate> occurrences = new ArrayList<>(due.size());
+        List<LocalDate> nextRuns = new ArrayList<>(due.size());
+        for (RecurringTransaction recurringTransaction : due) {
+            LocalDate occurrence = recurringTransaction.getNextRunAt().toLocalDate();
+            if (occurrence.isBefore(earliest)) {
+                // Too old to catch up on, continue from the oldest day still posted
+                nextRuns.add(RecurrenceSchedule.firstOnOrAfter(recurringTransaction, earliest));
+                continue;
+            }
+            postable.add(recurringTransaction);
+            occurrences.add(occurrence);
+            nextRuns.add(RecurrenceSchedule.nextAfter(recurringTransaction, occurrence));
+        }
+
+        List<Long> transactionIds = transactionBatchWriter.reserveIds(postable.size());
+        Set<Long> claimed = claim(postable, occurrences, transactionIds);
+
+        List<Transaction> transactions = new ArrayList<>(claimed.size());
+        for (int i = 0; i < postable.size(); i++) {
+            RecurringTransaction recurringTransaction = postable.get(i);
+            if (claimed.contains(recurringTransaction.getId())) {
+                transactions.add(Transaction.builder()
+                        .id(transactionIds.get(i))
+                        .amount(recurringTransaction.getAmount())
+                        .description(recurringTransaction.getDescription() + AUTOMATED_SUFFIX)
+                        .transactionCategory(recurringTransaction.getTransactionCategory())
+                        .type(recurringTransaction.getType())
+                        .transactionDate(occurrences.get(i).atStartOfDay())
+                        .createdBy(recurringTransaction.getCreatedBy())
+                        .build());
+            }
+        }
+
+        transactionBatchWriter.insertAll(transactions);
+        advance(due, nextRuns);
+        spendingRollupService.addAll(transactions);
+        for (Transaction transaction : transactions) {
+            eventPublisher.publishEvent(TransactionChangedEvent.created(TransactionSnapshot.of(transaction)));
+        }
+
+        postedCounter.increment(transactions.size());
+        skippedCounter.increment(due.size() - transactions.size());
+
+        int stillDue = (int) nextRuns.stream()
+                .filter(nextRun -> nextRun != null && !nextRun.isAfter(today))
+                .count();
+        return new ChunkResult(transactions.size(), stillDue);
+    }
+
+    private Set<Long> claim(List<RecurringTransaction> due, List<LocalDate> occurrences, List<Long> transactionIds) {
+        if (due.isEmpty()) {
+            return Set.of();
+        }
+
+        List<Long> claimed = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CLAIM_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint",
+                    due.stream().map(RecurringTransaction::getId).toArray()));
+            statement.setArray(2, connection.createArrayOf("date",
+                    occurrences.stream().map(Date::valueOf).toArray()));
+            statement.setArray(3, connection.createArrayOf("bigint", transactionIds.toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong(1));
+        return new HashSet<>(claimed);
+    }
+
+    // One statement for the chunk; schedules that have ended get no next run
+    private void advance(List<RecurringTransaction> due, List<LocalDate> nextRuns) {
+        Timestamp[] runs = nextRuns.stream()
+                .map(nextRun -> nextRun != null ? Timestamp.valueOf(nextRun.atStartOfDay()) : null)
+                .toArray(Timestamp[]::new);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ADVANCE_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint",
+                    due.stream().map(RecurringTransaction::getId).toArray()));
+            statement.setArray(2, connection.createArrayOf("timestamp", runs));
+            return statement;
+        });
+    }
+
+    // Transactions posted for a chunk and the schedules it left due
+    private record ChunkResult(int posted, int stillDue) {
+
+        static final ChunkResult NONE = new ChunkResult(0, 0);
+
+        ChunkResult plus(ChunkResult other) {
+            return new ChunkResult(posted + other.posted, stillDue + other.stillDue);
+        }
+    }
+}
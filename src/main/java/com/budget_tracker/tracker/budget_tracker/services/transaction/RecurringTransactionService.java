@@ -1,24 +1,23 @@
 package com.budget_tracker.tracker.budget_tracker.services.transaction;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.CreateRecurringTransactionRequest;
+import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.RecurringTransactionResponse;
 import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.UpdateRecurringTransactionRequest;
 import com.budget_tracker.tracker.budget_tracker.entity.Categories;
 import com.budget_tracker.tracker.budget_tracker.entity.RecurringTransaction;
-import com.budget_tracker.tracker.budget_tracker.entity.Transaction;
 import com.budget_tracker.tracker.budget_tracker.exception.common.NotFoundException;
 import com.budget_tracker.tracker.budget_tracker.exception.common.UnauthorizedException;
 import com.budget_tracker.tracker.budget_tracker.repositories.CategoriesRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.RecurringTransactionRepository;
-import com.budget_tracker.tracker.budget_tracker.repositories.TransactionRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.RecurringTransactionRow;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,7 +28,6 @@ public class RecurringTransactionService {
     private final RecurringTransactionRepository recurringTransactionRepository;
     private final UserRepository userRepository;
     private final CategoriesRepository categoriesRepository;
-    private final TransactionRepository transactionRepository;
 
     public void createRecurringTransaction(CreateRecurringTransactionRequest request, String userEmail) {
         var user = userRepository.findByEmail(userEmail)
@@ -54,29 +52,30 @@ public class RecurringTransactionService {
         recurringTransaction.setRecurrenceType(request.getRecurrenceType());
         recurringTransaction.setActive(true);
         recurringTransaction.setCreatedBy(user);
+        scheduleNextRun(recurringTransaction);
 
         recurringTransactionRepository.save(recurringTransaction);
     }
 
-    public List<RecurringTransaction> getAllRecurringTransactions(String userEmail) {
+    public List<RecurringTransactionResponse> getAllRecurringTransactions(String userEmail) {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        return recurringTransactionRepository.findAllByCreatedBy(user);
+        return recurringTransactionRepository.findRowsByCreatedBy(user).stream().map(this::mapToResponse).toList();
     }
 
-    public RecurringTransaction getRecurringTransactionById(Long id, String userEmail) {
+    public RecurringTransactionResponse getRecurringTransactionById(Long id, String userEmail) {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        var recurringTransaction = recurringTransactionRepository.findById(id)
+        var recurringTransaction = recurringTransactionRepository.findRowById(id)
                 .orElseThrow(() -> new NotFoundException("Recurring transaction not found"));
 
-        if (!recurringTransaction.getCreatedBy().getId().equals(user.getId())) {
+        if (!recurringTransaction.getCreatedById().equals(user.getId())) {
             throw new UnauthorizedException("You are not authorized to access this recurring transaction");
         }
 
-        return recurringTransaction;
+        return mapToResponse(recurringTransaction);
     }
 
     public void updateRecurringTransaction(Long id, UpdateRecurringTransactionRequest request, String userEmail) {
@@ -114,24 +113,35 @@ public class RecurringTransactionService {
             recurringTransaction.setType(request.getType());
         }
 
+        boolean rescheduled = false;
+
         if (request.getDayOfMonth() != null) {
             recurringTransaction.setDayOfMonth(request.getDayOfMonth());
+            rescheduled = true;
         }
 
         if (request.getStartDate() != null) {
             recurringTransaction.setStartDate(request.getStartDate());
+            rescheduled = true;
         }
 
         if (request.getEndDate() != null) {
             recurringTransaction.setEndDate(request.getEndDate());
+            rescheduled = true;
         }
 
         if (request.getRecurrenceType() != null) {
             recurringTransaction.setRecurrenceType(request.getRecurrenceType());
+            rescheduled = true;
         }
 
         if (request.getActive() != null) {
             recurringTransaction.setActive(request.getActive());
+            rescheduled = true;
+        }
+
+        if (rescheduled) {
+            scheduleNextRun(recurringTransaction);
         }
 
         recurringTransactionRepository.save(recurringTransaction);
@@ -151,35 +161,44 @@ public class RecurringTransactionService {
         recurringTransactionRepository.delete(recurringTransaction);
     }
 
-    public Page<RecurringTransaction> getRecurringTransactionsByFilters(
+    public Page<RecurringTransactionResponse> getRecurringTransactionsByFilters(
             String keyword, String type, String userEmail, Boolean active, Pageable pageable) {
         
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        return recurringTransactionRepository.findByFilters(
-                keyword, type, user.getId(), active, pageable);
+        Page<RecurringTransactionRow> recurringTransactions =
+                (keyword != null && !keyword.isBlank() && pageable.getSort().isUnsorted())
+                        ? recurringTransactionRepository.searchByKeyword(keyword, type, user.getId(), active, pageable)
+                        : recurringTransactionRepository.findByFilters(keyword, type, user.getId(), active, pageable);
+        return recurringTransactions.map(this::mapToResponse);
     }
 
-    @Transactional
-    public void processRecurringTransactions() {
-        LocalDateTime now = LocalDateTime.now();
-        int currentDay = now.getDayOfMonth();
-        
-        List<RecurringTransaction> activeTransactions = 
-                recurringTransactionRepository.findActiveRecurringTransactionsForDay(currentDay, now);
-        
-        for (RecurringTransaction recurringTransaction : activeTransactions) {
-            // Create a new transaction based on the recurring transaction
-            Transaction transaction = new Transaction();
-            transaction.setAmount(recurringTransaction.getAmount());
-            transaction.setDescription(recurringTransaction.getDescription() + " (Automated)");
-            transaction.setTransactionCategory(recurringTransaction.getTransactionCategory());
-            transaction.setType(recurringTransaction.getType());
-            transaction.setTransactionDate(now);
-            transaction.setCreatedBy(recurringTransaction.getCreatedBy());
-            
-            transactionRepository.save(transaction);
-        }
+    private RecurringTransactionResponse mapToResponse(RecurringTransactionRow recurringTransaction) {
+        return RecurringTransactionResponse.builder()
+                .id(recurringTransaction.getId())
+                .amount(recurringTransaction.getAmount())
+                .description(recurringTransaction.getDescription())
+                .type(recurringTransaction.getType())
+                .dayOfMonth(recurringTransaction.getDayOfMonth())
+                .startDate(recurringTransaction.getStartDate())
+                .endDate(recurringTransaction.getEndDate())
+                .recurrenceType(recurringTransaction.getRecurrenceType())
+                .active(Boolean.TRUE.equals(recurringTransaction.getActive()))
+                .nextRunAt(recurringTransaction.getNextRunAt())
+                .createdAt(recurringTransaction.getCreatedAt())
+                .updatedAt(recurringTransaction.getUpdatedAt())
+                .transactionCategory(new RecurringTransactionResponse.CategoryItem(
+                        recurringTransaction.getCategoryId(), recurringTransaction.getCategoryName(),
+                        recurringTransaction.getCategoryDescription(), recurringTransaction.getCategoryType()))
+                .build();
+    }
+
+    // Occurrences before today are not posted for a new or changed schedule
+    private void scheduleNextRun(RecurringTransaction recurringTransaction) {
+        LocalDate nextRun = recurringTransaction.isActive()
+                ? RecurrenceSchedule.firstOnOrAfter(recurringTransaction, LocalDate.now())
+                : null;
+        recurringTransaction.setNextRunAt(nextRun != null ? nextRun.atStartOfDay() : null);
     }
-} 
\ No newline at end of file
+}
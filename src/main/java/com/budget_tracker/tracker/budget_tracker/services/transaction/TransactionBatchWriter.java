@@ -0,0 +1,85 @@
+package com.budget_tracker.tracker.budget_tracker.services.transaction;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.budget_tracker.tracker.budget_tracker.entity.Transaction;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Inserts transactions with plain JDBC batches, bypassing the persistence
+ * context. Used by the bulk paths (imports, recurring transactions) that write
+ * many rows at once; callers run it inside their own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions "
+            + "(id, amount, description, type, transaction_date, transaction_category, created_by, fingerprint, "
+            + "created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Takes a block of ids from the identity sequence in one round trip, so rows
+    // can be inserted with their ids in a single JDBC batch
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('transactions', 'id')) FROM generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Get a block of new transaction ids
+     */
+    public List<Long> reserveIds(int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, count);
+    }
+
+    /**
+     * Insert the transactions in one batch. Transactions without an id or a
+     * fingerprint get them here, so the given objects match the stored rows.
+     */
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        List<Transaction> withoutId = transactions.stream().filter(transaction -> transaction.getId() == null).toList();
+        List<Long> ids = reserveIds(withoutId.size());
+        for (int i = 0; i < withoutId.size(); i++) {
+            withoutId.get(i).setId(ids.get(i));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> args = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            if (transaction.getFingerprint() == null) {
+                transaction.updateFingerprint();
+            }
+            transaction.setCreatedAt(now);
+            transaction.setUpdatedAt(now);
+            args.add(new Object[] {
+                    transaction.getId(),
+                    transaction.getAmount(),
+                    transaction.getDescription(),
+                    transaction.getType().name(),
+                    transaction.getTransactionDate() != null ? Timestamp.valueOf(transaction.getTransactionDate()) : null,
+                    transaction.getTransactionCategory().getId(),
+                    transaction.getCreatedBy().getId(),
+                    transaction.getFingerprint(),
+                    Timestamp.valueOf(now),
+                    Timestamp.valueOf(now)
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+}
@@ -0,0 +1,45 @@
+package com.budget_tracker.tracker.budget_tracker.services.transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.budget_tracker.tracker.budget_tracker.exception.common.BadRequestException;
+
+/**
+ * Position of the last transaction of a keyset page. Encoded as an opaque,
+ * URL safe token so clients don't depend on its contents.
+ */
+record TransactionCursor(LocalDateTime transactionDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Get the cursor pointing after the given transaction
+     */
+    static String encode(LocalDateTime transactionDate, Long id) {
+        String value = (transactionDate != null ? transactionDate.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read a cursor returned by a previous page
+     */
+    static TransactionCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+
+            String date = value.substring(0, separator);
+            return new TransactionCursor(
+                    date.isEmpty() ? null : LocalDateTime.parse(date),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package com.budget_tracker.tracker.budget_tracker.services.transaction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.budget_tracker.tracker.budget_tracker.config.ImportProperties;
+import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.ImportTransactionRow;
+import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.ImportTransactionsResponse;
+import com.budget_tracker.tracker.budget_tracker.entity.Categories;
+import com.budget_tracker.tracker.budget_tracker.entity.Transaction;
+import com.budget_tracker.tracker.budget_tracker.entity.User;
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+import com.budget_tracker.tracker.budget_tracker.exception.common.BadRequestException;
+import com.budget_tracker.tracker.budget_tracker.exception.common.NotFoundException;
+import com.budget_tracker.tracker.budget_tracker.repositories.CategoriesRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.TransactionRepository;
+import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
+import com.budget_tracker.tracker.budget_tracker.services.dashboard.SpendingRollupService;
+import com.budget_tracker.tracker.budget_tracker.services.gamification.GamificationService;
+import com.budget_tracker.tracker.budget_tracker.services.scheduling.ScheduledJobRunner;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports transactions from CSV or JSON uploads. Rows are read as a stream,
+ * validated and inserted in JDBC batches; invalid rows are reported and
+ * skipped without failing the rest of the upload.
+ * <p>
+ * CSV files need a header with the columns date, description, amount, type
+ * and categoryId, in any order. JSON files hold an array of objects with the
+ * same fields.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionImportService {
+
+    // Positions (1-based) of the candidate rows that have a transaction of the same
+    // amount within the date window and a similar description
+    private static final String FUZZY_DUPLICATES_SQL = "SELECT c.idx FROM unnest("
+            + "CAST(? AS float8[]), CAST(? AS timestamp[]), CAST(? AS text[])) "
+            + "WITH ORDINALITY AS c(amount, transaction_date, description, idx) "
+            + "WHERE EXISTS (SELECT 1 FROM transactions t WHERE t.created_by = ? AND t.amount = c.amount "
+            + "AND t.transaction_date BETWEEN c.transaction_date - make_interval(days => ?) "
+            + "AND c.transaction_date + make_interval(days => ?) "
+            + "AND similarity(COALESCE(t.description, ''), COALESCE(c.description, '')) >= ?)";
+
+    private static final String WITHOUT_FINGERPRINT_SQL = "SELECT id, created_by, transaction_date, amount, description "
+            + "FROM transactions WHERE fingerprint IS NULL AND id > ? ORDER BY id LIMIT ?";
+
+    // Sets the fingerprints of a batch in one statement, without touching updated_at
+    private static final String SET_FINGERPRINTS_SQL = "UPDATE transactions t SET fingerprint = c.fingerprint "
+            + "FROM unnest(CAST(? AS bigint[]), CAST(? AS varchar[])) AS c(id, fingerprint) "
+            + "WHERE t.id = c.id AND t.fingerprint IS NULL";
+
+    private static final int FINGERPRINT_BACKFILL_BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final CategoriesRepository categoriesRepository;
+    private final TransactionRepository transactionRepository;
+    private final SpendingRollupService spendingRollupService;
+    private final GamificationService gamificationService;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledJobRunner scheduledJobRunner;
+    private final ObjectMapper objectMapper;
+    private final ImportProperties importProperties;
+
+    /**
+     * Import the transactions of a CSV or JSON file for the user. Rows with the
+     * fingerprint of an existing transaction are reported as duplicates; with a
+     * fuzzy window, so are rows of the same amount and a similar description
+     * within that many days of an existing transaction.
+     */
+    public ImportTransactionsResponse importTransactions(MultipartFile file, String userEmail, Integer fuzzyWindowDays) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Import file is required");
+        }
+        if (fuzzyWindowDays != null && (fuzzyWindowDays < 0 || fuzzyWindowDays > importProperties.getMaxFuzzyWindowDays())) {
+            throw new BadRequestException("fuzzyWindowDays must be between 0 and " + importProperties.getMaxFuzzyWindowDays());
+        }
+
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        ImportRun run = new ImportRun(user, fuzzyWindowDays != null ? fuzzyWindowDays : 0);
+        try (InputStream in = file.getInputStream()) {
+            if (isJson(file)) {
+                readJson(in, run);
+            } else if (isCsv(file)) {
+                readCsv(in, run);
+            } else {
+                throw new BadRequestException("Import file must be CSV or JSON");
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new BadRequestException("Could not read import file: " + e.getMessage());
+        }
+        run.flush();
+
+        log.info("Imported {} of {} transactions for user {}", run.imported, run.received, user.getId());
+        return ImportTransactionsResponse.builder()
+                .received(run.received)
+                .imported(run.imported)
+                .failed(run.failed)
+                .duplicates(run.duplicates)
+                .errors(run.errors)
+                .duplicateRows(run.duplicateRows)
+                .build();
+    }
+
+    /**
+     * Compute the missing fingerprints of transactions created before they
+     * existed, on the node that gets the lease
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillFingerprintsOnStartup() {
+        if (!importProperties.isBackfillFingerprintsOnStartup()) {
+            return;
+        }
+
+        try {
+            scheduledJobRunner.runExclusive("fingerprint-backfill", null, this::backfillFingerprints);
+        } catch (RuntimeException e) {
+            log.error("Failed to backfill transaction fingerprints, retrying at the next startup: {}",
+                    e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Compute the missing fingerprints in batches, each updated with one
+     * statement
+     *
+     * @return The number of transactions updated
+     */
+    public long backfillFingerprints() {
+        long updated = 0;
+        long afterId = 0;
+        List<Long> ids = new ArrayList<>(FINGERPRINT_BACKFILL_BATCH_SIZE);
+        List<String> fingerprints = new ArrayList<>(FINGERPRINT_BACKFILL_BATCH_SIZE);
+        do {
+            ids.clear();
+            fingerprints.clear();
+            jdbcTemplate.query(WITHOUT_FINGERPRINT_SQL, resultSet -> {
+                Timestamp transactionDate = resultSet.getTimestamp("transaction_date");
+                ids.add(resultSet.getLong("id"));
+                fingerprints.add(Transaction.fingerprintOf(
+                        resultSet.getString("created_by"),
+                        transactionDate != null ? transactionDate.toLocalDateTime() : null,
+                        resultSet.getObject("amount", Double.class),
+                        resultSet.getString("description")));
+            }, afterId, FINGERPRINT_BACKFILL_BATCH_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            updated += jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SET_FINGERPRINTS_SQL);
+                statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+                statement.setArray(2, connection.createArrayOf("varchar", fingerprints.toArray()));
+                return statement;
+            });
+            afterId = ids.get(ids.size() - 1);
+        } while (ids.size() == FINGERPRINT_BACKFILL_BATCH_SIZE);
+
+        if (updated > 0) {
+            log.info("Backfilled the fingerprints of {} transactions", updated);
+        }
+        return updated;
+    }
+
+    private boolean isJson(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        return (file.getContentType() != null && file.getContentType().contains("json"))
+                || (name != null && name.toLowerCase().endsWith(".json"));
+    }
+
+    private boolean isCsv(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        return (file.getContentType() != null && file.getContentType().contains("csv"))
+                || (name != null && name.toLowerCase().endsWith(".csv"));
+    }
+
+    private void readCsv(InputStream in, ImportRun run) throws IOException {
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        CSVParser parser = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreSurroundingSpaces(true)
+                .setIgnoreEmptyLines(true)
+                .build()
+                .parse(reader);
+
+        for (CSVRecord record : parser) {
+            run.accept(() -> ImportTransactionRow.builder()
+                    .date(parseDate(value(record, "date")))
+                    .description(value(record, "description"))
+                    .amount(value(record, "amount") != null ? Double.valueOf(value(record, "amount")) : null)
+                    .type(value(record, "type") != null ? CategoryType.valueOf(value(record, "type").toUpperCase()) : null)
+                    .categoryId(value(record, "categoryId") != null ? Long.valueOf(value(record, "categoryId")) : null)
+                    .build());
+        }
+    }
+
+    private void readJson(InputStream in, ImportRun run) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("JSON import must be an array of transactions");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                // Read the element as a tree first so a bad value only fails its own row
+                JsonNode node = parser.readValueAsTree();
+                run.accept(() -> {
+                    try {
+                        return objectMapper.treeToValue(node, ImportTransactionRow.class);
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalArgumentException(e.getOriginalMessage());
+                    }
+                });
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new BadRequestException("JSON import must be an array of transactions");
+            }
+        }
+    }
+
+    private String value(CSVRecord record, String column) {
+        if (!record.isSet(column)) {
+            return null;
+        }
+        String value = record.get(column);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private LocalDateTime parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+    }
+
+    private String validate(ImportTransactionRow row) {
+        if (row.getAmount() == null) {
+            return "Transaction amount is required";
+        }
+        // Double.valueOf and Jackson both accept NaN and Infinity
+        if (!Double.isFinite(row.getAmount())) {
+            return "Transaction amount must be a finite number";
+        }
+        if (row.getType() == null) {
+            return "Transaction type is required";
+        }
+        if (row.getDate() == null) {
+            return "Transaction date is required";
+        }
+        if (row.getCategoryId() == null) {
+            return "Transaction category is required";
+        }
+        if (row.getDescription() != null
+                && (row.getDescription().length() < 2 || row.getDescription().length() > 50)) {
+            return "Transaction description must be between 2 and 50 characters";
+        }
+        return null;
+    }
+
+    private interface RowReader {
+        ImportTransactionRow read();
+    }
+
+    private record PendingRow(long rowNumber, ImportTransactionRow row, String fingerprint) {
+    }
+
+    /**
+     * State of one upload: the current batch, the user's categories and the
+     * fingerprints seen so far, and the outcome counters
+     */
+    private class ImportRun {
+
+        private final User user;
+        private final int fuzzyWindowDays;
+        private final Map<Long, Categories> ownedCategories = new HashMap<>();
+        private final Set<Long> unknownCategories = new HashSet<>();
+        private final Set<String> seenFingerprints = new HashSet<>();
+        private final List<PendingRow> batch = new ArrayList<>();
+        private final List<ImportTransactionsResponse.RowError> errors = new ArrayList<>();
+        private final List<ImportTransactionsResponse.RowError> duplicateRows = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+        private long duplicates;
+
+        ImportRun(User user, int fuzzyWindowDays) {
+            this.user = user;
+            this.fuzzyWindowDays = fuzzyWindowDays;
+        }
+
+        void accept(RowReader reader) {
+            long rowNumber = ++received;
+            ImportTransactionRow row;
+            try {
+                row = reader.read();
+            } catch (RuntimeException e) {
+                reject(rowNumber, "Invalid row: " + e.getMessage());
+                return;
+            }
+
+            String error = validate(row);
+            if (error != null) {
+                reject(rowNumber, error);
+                return;
+            }
+
+            String fingerprint = Transaction.fingerprintOf(user.getId(), row.getDate(), row.getAmount(), row.getDescription());
+            if (!seenFingerprints.add(fingerprint)) {
+                reportDuplicate(rowNumber, "Duplicate of an earlier row");
+                return;
+            }
+
+            batch.add(new PendingRow(rowNumber, row, fingerprint));
+            if (batch.size() >= importProperties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            loadCategories();
+
+            List<PendingRow> rows = new ArrayList<>();
+            for (PendingRow pending : batch) {
+                if (ownedCategories.containsKey(pending.row().getCategoryId())) {
+                    rows.add(pending);
+                } else {
+                    reject(pending.rowNumber(), "Category not found");
+                }
+            }
+            batch.clear();
+
+            rows = removeExisting(rows);
+            if (fuzzyWindowDays > 0) {
+                rows = removeFuzzyMatches(rows);
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            List<PendingRow> toInsert = rows;
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(toInsert));
+                imported += toInsert.size();
+            } catch (RuntimeException e) {
+                log.warn("Failed to import a batch of {} transactions for user {}: {}",
+                        toInsert.size(), user.getId(), e.getMessage());
+                toInsert.forEach(pending -> reject(pending.rowNumber(), "Could not be saved"));
+            }
+        }
+
+        // One indexed lookup for the whole batch
+        private List<PendingRow> removeExisting(List<PendingRow> rows) {
+            if (rows.isEmpty()) {
+                return rows;
+            }
+
+            Set<String> existing = new HashSet<>(transactionRepository.findExistingFingerprints(
+                    user.getId(), rows.stream().map(PendingRow::fingerprint).toList()));
+            if (existing.isEmpty()) {
+                return rows;
+            }
+
+            List<PendingRow> remaining = new ArrayList<>(rows.size());
+            for (PendingRow pending : rows) {
+                if (existing.contains(pending.fingerprint())) {
+                    reportDuplicate(pending.rowNumber(), "Duplicate of an existing transaction");
+                } else {
+                    remaining.add(pending);
+                }
+            }
+            return remaining;
+        }
+
+        // One query for the whole batch, ranged on idx_transactions_created_by_date_id
+        private List<PendingRow> removeFuzzyMatches(List<PendingRow> rows) {
+            if (rows.isEmpty()) {
+                return rows;
+            }
+
+            List<Long> matches = jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(FUZZY_DUPLICATES_SQL);
+                statement.setArray(1, connection.createArrayOf("float8",
+                        rows.stream().map(pending -> pending.row().getAmount()).toArray()));
+                statement.setArray(2, connection.createArrayOf("timestamp",
+                        rows.stream().map(pending -> Timestamp.valueOf(pending.row().getDate())).toArray()));
+                statement.setArray(3, connection.createArrayOf("text",
+                        rows.stream().map(pending -> pending.row().getDescription()).toArray()));
+                statement.setString(4, user.getId());
+                statement.setInt(5, fuzzyWindowDays);
+                statement.setInt(6, fuzzyWindowDays);
+                statement.setDouble(7, importProperties.getFuzzySimilarity());
+                return statement;
+            }, (resultSet, rowNum) -> resultSet.getLong(1));
+            if (matches.isEmpty()) {
+                return rows;
+            }
+
+            Set<Long> matched = new HashSet<>(matches);
+            List<PendingRow> remaining = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                if (matched.contains((long) i + 1)) {
+                    reportDuplicate(rows.get(i).rowNumber(), "Possible duplicate of an existing transaction");
+                } else {
+                    remaining.add(rows.get(i));
+                }
+            }
+            return remaining;
+        }
+
+        // Checks ownership once per category for the whole upload
+        private void loadCategories() {
+            Set<Long> missing = new HashSet<>();
+            for (PendingRow pending : batch) {
+                Long categoryId = pending.row().getCategoryId();
+                if (!ownedCategories.containsKey(categoryId) && !unknownCategories.contains(categoryId)) {
+                    missing.add(categoryId);
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+
+            for (Categories category : categoriesRepository.findAllById(new ArrayList<Number>(missing))) {
+                if (category.getCreatedBy().getId().equals(user.getId())) {
+                    ownedCategories.put(category.getId(), category);
+                }
+            }
+            missing.removeAll(ownedCategories.keySet());
+            unknownCategories.addAll(missing);
+        }
+
+        private void insert(List<PendingRow> rows) {
+            List<Transaction> transactions = new ArrayList<>(rows.size());
+            for (PendingRow pending : rows) {
+                ImportTransactionRow row = pending.row();
+                transactions.add(Transaction.builder()
+                        .amount(row.getAmount())
+                        .description(row.getDescription())
+                        .type(row.getType())
+                        .transactionDate(row.getDate())
+                        .transactionCategory(ownedCategories.get(row.getCategoryId()))
+                        .createdBy(user)
+                        .fingerprint(pending.fingerprint())
+                        .build());
+            }
+
+            transactionBatchWriter.insertAll(transactions);
+            spendingRollupService.addAll(transactions);
+            gamificationService.processTransactions(user, transactions);
+        }
+
+        private void reject(long rowNumber, String message) {
+            failed++;
+            if (errors.size() < importProperties.getMaxReportedErrors()) {
+                errors.add(new ImportTransactionsResponse.RowError(rowNumber, message));
+            }
+        }
+
+        private void reportDuplicate(long rowNumber, String message) {
+            duplicates++;
+            if (duplicateRows.size() < importProperties.getMaxReportedErrors()) {
+                duplicateRows.add(new ImportTransactionsResponse.RowError(rowNumber, message));
+            }
+        }
+    }
+}
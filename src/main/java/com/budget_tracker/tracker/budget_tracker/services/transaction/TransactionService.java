@@ -1,24 +1,34 @@
 package com.budget_tracker.tracker.budget_tracker.services.transaction;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.CreateTransactionRequest;
 import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.GetTransactionRequest;
 import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.GetTransactionsResponse;
 import com.budget_tracker.tracker.budget_tracker.entity.Transaction;
 import com.budget_tracker.tracker.budget_tracker.entity.User;
+import com.budget_tracker.tracker.budget_tracker.enums.CountMode;
+import com.budget_tracker.tracker.budget_tracker.enums.PaginationMode;
+import com.budget_tracker.tracker.budget_tracker.exception.common.BadRequestException;
 import com.budget_tracker.tracker.budget_tracker.exception.common.NotFoundException;
 import com.budget_tracker.tracker.budget_tracker.repositories.CategoriesRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.TransactionRepository;
 import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
-import com.budget_tracker.tracker.budget_tracker.services.gamification.GamificationService;
+import com.budget_tracker.tracker.budget_tracker.repositories.projection.TransactionListRow;
+import com.budget_tracker.tracker.budget_tracker.services.dashboard.SpendingRollupService;
+import com.budget_tracker.tracker.budget_tracker.services.events.TransactionChangedEvent;
+import com.budget_tracker.tracker.budget_tracker.services.events.TransactionSnapshot;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,11 +36,25 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class TransactionService {
 
+    // Estimated totals stop counting here and are reported as a lower bound
+    private static final int ESTIMATED_COUNT_CAP = 1000;
+
+    // Upper bound for the first keyset page
+    private static final LocalDateTime KEYSET_START_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "amount", "amount",
+            "description", "description",
+            "transactionDate", "transaction_date",
+            "createdAt", "created_at");
+
     private final CategoriesRepository categoriesRepository;
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
-    private final GamificationService gamificationService;
+    private final SpendingRollupService spendingRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public void createTransaction(CreateTransactionRequest body, String userEmail) {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
@@ -51,9 +75,11 @@ public class TransactionService {
         transactionEntity.setCreatedBy(user);
 
         Transaction savedTransaction = transactionRepository.save(transactionEntity);
-        
-        // Process transaction for gamification features
-        gamificationService.processTransaction(savedTransaction);
+        TransactionSnapshot current = TransactionSnapshot.of(savedTransaction);
+        spendingRollupService.applyChange(null, current);
+
+        // Gamification catches up once this commits
+        eventPublisher.publishEvent(TransactionChangedEvent.created(current));
     }
 
     public GetTransactionsResponse getAllTransactions(GetTransactionRequest param, String userEmail) {
@@ -67,50 +93,128 @@ public class TransactionService {
         LocalDateTime startDate = (param != null && param.getStartDate() != null) ? param.getStartDate().atStartOfDay() : null;
         LocalDateTime endDate = (param != null && param.getEndDate() != null) ? param.getEndDate().atTime(23, 59, 59) : null;
 
+        if (param != null && param.getPagination() == PaginationMode.KEYSET) {
+            CountMode countMode = param.getCount() != null ? param.getCount() : CountMode.NONE;
+            return getTransactionsAfter(user, keyword, type, startDate, endDate, limit, param.getCursor(), countMode);
+        }
+
         if (page < 0) {
             page = 0;
         }
 
         Pageable pageable = PageRequest.of(page, limit);
+        boolean sorted = param != null && param.getSortBy() != null && param.getOrderBy() != null;
 
-        if (param != null && param.getSortBy() != null && param.getOrderBy() != null) {
-            pageable = PageRequest.of(page, limit, param.getOrderBy().equalsIgnoreCase("asc") ? Sort.by(param.getSortBy()).ascending() : Sort.by(param.getSortBy()).descending());
+        if (sorted) {
+            if (!SORT_COLUMNS.containsKey(param.getSortBy())) {
+                throw new BadRequestException("Invalid sortBy field");
+            }
+            // Native queries are sorted by column name
+            Sort sort = Sort.by(SORT_COLUMNS.get(param.getSortBy()));
+            pageable = PageRequest.of(page, limit, param.getOrderBy().equalsIgnoreCase("asc") ? sort.ascending() : sort.descending());
         }
 
-        Page<Transaction> transactionsPage = transactionRepository.findByKeywordAndType(keyword, type, pageable, user.getId(), startDate, endDate);
-        GetTransactionsResponse.Metadata metadata = new GetTransactionsResponse.Metadata(
-                transactionsPage.getTotalElements(),
-                transactionsPage.getTotalPages(),
-                page + 1,
-                limit
-        );
+        // Keyword searches are ranked by relevance unless another order was asked for
+        Slice<TransactionListRow> transactionsSlice = (keyword != null && !keyword.isBlank() && !sorted)
+                ? transactionRepository.searchSliceByFilters(user.getId(), keyword, type, startDate, endDate, pageable)
+                : transactionRepository.findSliceByFilters(user.getId(), keyword, type, startDate, endDate, pageable);
 
-        List<GetTransactionsResponse.TransactionItem> transactionItems = transactionsPage.getContent().stream()
-                .map(transaction -> {
+        GetTransactionsResponse.Metadata.MetadataBuilder metadata = GetTransactionsResponse.Metadata.builder()
+                .currentPage(page + 1)
+                .limit(limit)
+                .hasNext(transactionsSlice.hasNext());
+
+        CountMode countMode = (param != null && param.getCount() != null) ? param.getCount() : CountMode.EXACT;
+        if (countMode == CountMode.EXACT) {
+            applyExactTotal(metadata, user, keyword, type, startDate, endDate, limit);
+        } else if (countMode == CountMode.ESTIMATE) {
+            applyEstimatedTotal(metadata, user, keyword, type, startDate, endDate, limit);
+        }
+        return new GetTransactionsResponse(mapToItems(transactionsSlice.getContent()), metadata.build());
+    }
+
+    private GetTransactionsResponse getTransactionsAfter(User user, String keyword, String type,
+            LocalDateTime startDate, LocalDateTime endDate, int limit, String cursor, CountMode countMode) {
+        TransactionCursor after = (cursor != null && !cursor.isBlank()) ? TransactionCursor.decode(cursor) : null;
+
+        // One extra row tells whether there is a next page
+        List<TransactionListRow> transactions = new ArrayList<>(limit + 1);
+        if (after == null || after.transactionDate() != null) {
+            transactions.addAll(transactionRepository.findPageAfter(
+                    user.getId(), keyword, type, startDate, endDate,
+                    after != null ? after.transactionDate() : KEYSET_START_DATE,
+                    after != null ? after.id() : Long.MAX_VALUE,
+                    limit + 1));
+        }
+
+        // Undated transactions come after all dated ones and never match a date range
+        boolean includeUndated = startDate == null && endDate == null;
+        if (includeUndated && transactions.size() <= limit) {
+            Long afterId = (after != null && after.transactionDate() == null) ? after.id() : Long.MAX_VALUE;
+            transactions.addAll(transactionRepository.findUndatedPageAfter(
+                    user.getId(), keyword, type, afterId, limit + 1 - transactions.size()));
+        }
+
+        boolean hasNext = transactions.size() > limit;
+        List<TransactionListRow> content = hasNext ? transactions.subList(0, limit) : transactions;
+        TransactionListRow last = content.isEmpty() ? null : content.get(content.size() - 1);
+
+        GetTransactionsResponse.Metadata.MetadataBuilder metadata = GetTransactionsResponse.Metadata.builder()
+                .limit(limit)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? TransactionCursor.encode(last.getTransactionDate(), last.getId()) : null);
+        if (countMode == CountMode.EXACT) {
+            applyExactTotal(metadata, user, keyword, type, startDate, endDate, limit);
+        } else if (countMode == CountMode.ESTIMATE) {
+            applyEstimatedTotal(metadata, user, keyword, type, startDate, endDate, limit);
+        }
+        return new GetTransactionsResponse(mapToItems(content), metadata.build());
+    }
+
+    private void applyExactTotal(GetTransactionsResponse.Metadata.MetadataBuilder metadata, User user,
+            String keyword, String type, LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        long total = transactionRepository.countByFilters(user.getId(), keyword, type, startDate, endDate);
+        metadata.totalItems(total)
+                .totalPages((int) Math.ceil((double) total / limit))
+                .totalEstimated(false);
+    }
+
+    private void applyEstimatedTotal(GetTransactionsResponse.Metadata.MetadataBuilder metadata, User user,
+            String keyword, String type, LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        long total = transactionRepository.countByFiltersUpTo(
+                user.getId(), keyword, type, startDate, endDate, ESTIMATED_COUNT_CAP);
+        metadata.totalItems(total)
+                .totalPages((int) Math.ceil((double) total / limit))
+                .totalEstimated(total >= ESTIMATED_COUNT_CAP);
+    }
+
+    private List<GetTransactionsResponse.TransactionItem> mapToItems(List<TransactionListRow> rows) {
+        return rows.stream()
+                .map(row -> {
                     GetTransactionsResponse.CategoryItem categoryItem = new GetTransactionsResponse.CategoryItem(
-                            transaction.getTransactionCategory().getId(),
-                            transaction.getTransactionCategory().getName(),
-                            transaction.getTransactionCategory().getDescription(),
-                            transaction.getTransactionCategory().getCreatedAt().toString(),
-                            transaction.getTransactionCategory().getUpdatedAt().toString(),
-                            transaction.getTransactionCategory().getType().toString()
+                            row.getCategoryId(),
+                            row.getCategoryName(),
+                            row.getCategoryDescription(),
+                            row.getCategoryCreatedAt().toString(),
+                            row.getCategoryUpdatedAt().toString(),
+                            row.getCategoryType().toString()
                     );
                     return new GetTransactionsResponse.TransactionItem(
-                            transaction.getId(),
-                            transaction.getAmount(),
-                            transaction.getDescription(),
-                            transaction.getCreatedAt().toString(),
-                            transaction.getUpdatedAt().toString(),
-                            transaction.getType().toString(),
+                            row.getId(),
+                            row.getAmount(),
+                            row.getDescription(),
+                            row.getCreatedAt().toString(),
+                            row.getUpdatedAt().toString(),
+                            row.getType().toString(),
                             categoryItem,
-                            transaction.getTransactionDate()
+                            row.getTransactionDate()
                     );
                 }).toList();
-        return new GetTransactionsResponse(transactionItems, metadata);
     }
 
+    @Transactional
     public void deleteTransaction(String userEmail, Number id) {
-        Transaction transaction = transactionRepository.findById(id)
+        Transaction transaction = transactionRepository.findWithCategoryById(id.longValue())
                 .orElseThrow(() -> new NotFoundException("Transaction not found"));
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
@@ -118,11 +222,15 @@ public class TransactionService {
             throw new NotFoundException("Transaction not found");
         }
 
+        TransactionSnapshot previous = TransactionSnapshot.of(transaction);
         transactionRepository.delete(transaction);
+        spendingRollupService.applyChange(previous, null);
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(previous));
     }
 
+    @Transactional
     public void updateTransaction(CreateTransactionRequest body, String userEmail, Number id) {
-        Transaction transaction = transactionRepository.findById(id)
+        Transaction transaction = transactionRepository.findWithCategoryById(id.longValue())
                 .orElseThrow(() -> new NotFoundException("Transaction not found"));
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
@@ -137,6 +245,9 @@ public class TransactionService {
 
         }
 
+        // Keep the old values so they can be taken out of the rollup
+        TransactionSnapshot previous = TransactionSnapshot.of(transaction);
+
         transaction.setDescription(body.getDescription());
         transaction.setAmount(body.getAmount());
         transaction.setType(body.getType());
@@ -144,13 +255,13 @@ public class TransactionService {
         transaction.setTransactionCategory(category);
 
         Transaction updatedTransaction = transactionRepository.save(transaction);
-        
-        // Process updated transaction for gamification features
-        gamificationService.processTransaction(updatedTransaction);
+        TransactionSnapshot current = TransactionSnapshot.of(updatedTransaction);
+        spendingRollupService.applyChange(previous, current);
+        eventPublisher.publishEvent(TransactionChangedEvent.updated(previous, current));
     }
 
     public GetTransactionsResponse.TransactionItem getTransactionById(String userEmail, Number id) {
-        Transaction transaction = transactionRepository.findById(id)
+        Transaction transaction = transactionRepository.findWithCategoryById(id.longValue())
                 .orElseThrow(() -> new NotFoundException("Transaction not found"));
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
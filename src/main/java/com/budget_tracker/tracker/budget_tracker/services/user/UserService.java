@@ -10,6 +10,7 @@ import com.budget_tracker.tracker.budget_tracker.controller.user.dto.UserDetailR
 import com.budget_tracker.tracker.budget_tracker.entity.User;
 import com.budget_tracker.tracker.budget_tracker.exception.common.NotFoundException;
 import com.budget_tracker.tracker.budget_tracker.repositories.UserRepository;
+import com.budget_tracker.tracker.budget_tracker.services.auth.PrincipalService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,6 +20,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder; 
+    private final PrincipalService principalService;
 
     public UserDetailResponse me(String userEmail) {
         User user = userRepository.findByEmail(userEmail)
@@ -50,6 +52,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        principalService.evictPrincipal(user.getEmail());
     }
 
     public UserDetailResponse[] getAllUsers() {
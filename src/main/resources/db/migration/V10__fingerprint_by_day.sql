@@ -0,0 +1,3 @@
+-- Fingerprints now hash the day of the transaction instead of its full
+-- timestamp. Clear the old ones so the backfill run at startup recomputes them.
+UPDATE transactions SET fingerprint = NULL WHERE fingerprint IS NOT NULL;
@@ -0,0 +1,104 @@
+-- Schema as generated by Hibernate (ddl-auto) before Flyway took over.
+-- Databases created that way are baselined at this version and skip this
+-- script; the later migrations only add objects that may be missing.
+
+CREATE TABLE users (
+    id                        varchar(255) NOT NULL PRIMARY KEY,
+    first_name                varchar(255),
+    last_name                 varchar(255),
+    email                     varchar(255),
+    password                  varchar(255),
+    created_at                timestamp(6),
+    updated_at                timestamp(6),
+    role                      varchar(255),
+    enabled                   boolean      NOT NULL,
+    verification_token        varchar(255),
+    verification_token_expiry timestamp(6),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE categories (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar(255),
+    description varchar(255),
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    type        varchar(255),
+    created_by  varchar(255) NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE transactions (
+    id                   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount               float(53),
+    description          varchar(255),
+    transaction_category bigint       NOT NULL REFERENCES categories (id),
+    type                 varchar(255),
+    created_at           timestamp(6),
+    updated_at           timestamp(6),
+    transaction_date     timestamp(6),
+    created_by           varchar(255) NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE budget (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar(255),
+    description varchar(255),
+    amount      float(53),
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    created_by  varchar(255) NOT NULL REFERENCES users (id),
+    category_id bigint REFERENCES categories (id)
+);
+
+CREATE TABLE goals (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           varchar(255),
+    description    varchar(255),
+    target_amount  float(53),
+    current_amount float(53),
+    target_date    timestamp(6),
+    status         varchar(255),
+    created_at     timestamp(6),
+    updated_at     timestamp(6),
+    category_id    bigint REFERENCES categories (id),
+    created_by     varchar(255) NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE recurring_transactions (
+    id                   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount               float(53),
+    description          varchar(255),
+    transaction_category bigint       NOT NULL REFERENCES categories (id),
+    type                 varchar(255),
+    created_at           timestamp(6),
+    updated_at           timestamp(6),
+    day_of_month         integer,
+    start_date           timestamp(6),
+    end_date             timestamp(6),
+    recurrence_type      varchar(255),
+    active               boolean      NOT NULL,
+    created_by           varchar(255) NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE achievements (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name             varchar(255) NOT NULL,
+    description      varchar(255),
+    icon             varchar(255),
+    points_awarded   integer      NOT NULL,
+    earned_at        timestamp(6),
+    achievement_type varchar(255) NOT NULL,
+    user_id          varchar(255) NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE user_progress (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    current_xp       integer      NOT NULL,
+    level            integer      NOT NULL,
+    xp_to_next_level integer      NOT NULL,
+    saving_streak    integer      NOT NULL,
+    last_saving_date timestamp(6) NOT NULL,
+    created_at       timestamp(6),
+    updated_at       timestamp(6),
+    user_id          varchar(255) NOT NULL UNIQUE REFERENCES users (id)
+);
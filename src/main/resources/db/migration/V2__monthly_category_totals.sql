@@ -0,0 +1,13 @@
+-- Monthly spending rollup per user, category and type. IF NOT EXISTS keeps
+-- this safe on databases where ddl-auto already created it.
+CREATE TABLE IF NOT EXISTS monthly_category_totals (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id           varchar(255) NOT NULL,
+    period_start      date         NOT NULL,
+    category_id       bigint       NOT NULL,
+    type              varchar(255) NOT NULL,
+    total             float(53)    NOT NULL,
+    transaction_count bigint       NOT NULL,
+    updated_at        timestamp(6),
+    CONSTRAINT uk_monthly_category_totals_key UNIQUE (user_id, period_start, category_id, type)
+);
@@ -0,0 +1,19 @@
+-- Background export jobs and their generated files
+CREATE TABLE IF NOT EXISTS export_jobs (
+    id             varchar(255) NOT NULL PRIMARY KEY,
+    resource       varchar(255) NOT NULL,
+    format         varchar(255) NOT NULL,
+    status         varchar(255) NOT NULL,
+    progress       integer,
+    processed_rows bigint,
+    total_rows     bigint,
+    file_path      varchar(255),
+    file_size      bigint,
+    error_message  varchar(255),
+    created_at     timestamp(6),
+    updated_at     timestamp(6),
+    started_at     timestamp(6),
+    completed_at   timestamp(6),
+    expires_at     timestamp(6),
+    created_by     varchar(255) NOT NULL REFERENCES users (id)
+);
@@ -0,0 +1,16 @@
+-- Emails waiting to be sent by the outbox workers
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient       varchar(255) NOT NULL,
+    subject         varchar(255) NOT NULL,
+    body            text         NOT NULL,
+    status          varchar(255) NOT NULL,
+    attempts        integer      NOT NULL,
+    next_attempt_at timestamp(6) NOT NULL,
+    locked_at       timestamp(6),
+    last_error      text,
+    created_at      timestamp(6),
+    sent_at         timestamp(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
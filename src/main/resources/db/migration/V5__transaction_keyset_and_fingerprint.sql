@@ -0,0 +1,10 @@
+-- Keyset pagination of a user's transactions, and the fingerprint used to
+-- detect duplicates on import. Existing rows get their fingerprint from the
+-- backfill run at startup.
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS fingerprint varchar(64);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_created_by_date_id
+    ON transactions (created_by, transaction_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_created_by_fingerprint
+    ON transactions (created_by, fingerprint);
@@ -0,0 +1,38 @@
+-- Next run of each recurring schedule, the ledger of posted occurrences,
+-- and the leases and history of the scheduled jobs
+ALTER TABLE recurring_transactions ADD COLUMN IF NOT EXISTS next_run_at timestamp(6);
+
+CREATE INDEX IF NOT EXISTS idx_recurring_transactions_active_next_run
+    ON recurring_transactions (active, next_run_at, id);
+
+CREATE TABLE IF NOT EXISTS recurring_transaction_runs (
+    id                       bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recurring_transaction_id bigint NOT NULL,
+    occurrence_date          date   NOT NULL,
+    transaction_id           bigint,
+    created_at               timestamp(6),
+    CONSTRAINT uk_recurring_transaction_runs_occurrence UNIQUE (recurring_transaction_id, occurrence_date)
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name         varchar(100) NOT NULL PRIMARY KEY,
+    locked_by    varchar(255) NOT NULL,
+    locked_at    timestamp(6) NOT NULL,
+    locked_until timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS scheduled_job_runs (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_name       varchar(100)  NOT NULL,
+    shard          integer,
+    node_id        varchar(255)  NOT NULL,
+    status         varchar(255)  NOT NULL,
+    started_at     timestamp(6)  NOT NULL,
+    finished_at    timestamp(6),
+    duration_ms    bigint,
+    rows_processed bigint,
+    error_message  varchar(1000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_scheduled_job_runs_job_started
+    ON scheduled_job_runs (job_name, started_at DESC);
@@ -0,0 +1,18 @@
+-- Trigram indexes for keyword search. They serve the ILIKE '%keyword%'
+-- filters and the word_similarity ranking of the search queries.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_description_trgm
+    ON transactions USING gin (description gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_goals_name_trgm
+    ON goals USING gin (name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_goals_description_trgm
+    ON goals USING gin (description gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_recurring_transactions_description_trgm
+    ON recurring_transactions USING gin (description gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_categories_name_trgm
+    ON categories USING gin (name gin_trgm_ops);
@@ -0,0 +1,27 @@
+-- Indexes of the per-user lookups behind the dashboard, the listings and auth.
+-- Transactions by user and date are served by idx_transactions_created_by_date_id.
+
+CREATE INDEX IF NOT EXISTS idx_goals_created_by_status
+    ON goals (created_by, status);
+
+CREATE INDEX IF NOT EXISTS idx_budget_created_by_category
+    ON budget (created_by, category_id);
+
+CREATE INDEX IF NOT EXISTS idx_categories_created_by_name_type
+    ON categories (created_by, name, type);
+
+CREATE INDEX IF NOT EXISTS idx_users_verification_token
+    ON users (verification_token);
+
+-- Foreign keys looked up from the other side (usage of a category, a user's rows)
+CREATE INDEX IF NOT EXISTS idx_transactions_category
+    ON transactions (transaction_category);
+
+CREATE INDEX IF NOT EXISTS idx_recurring_transactions_created_by
+    ON recurring_transactions (created_by);
+
+CREATE INDEX IF NOT EXISTS idx_achievements_user_type
+    ON achievements (user_id, achievement_type);
+
+CREATE INDEX IF NOT EXISTS idx_export_jobs_created_by_created_at
+    ON export_jobs (created_by, created_at DESC);
@@ -0,0 +1,2 @@
+-- Export failures keep the whole exception message
+ALTER TABLE export_jobs ALTER COLUMN error_message TYPE text;
@@ -0,0 +1,201 @@
+package com.budget_tracker.tracker.budget_tracker.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Runs two nodes against one Redis, each with the cache manager, invalidation
+ * publisher and listener container built by CacheConfig, and checks that they
+ * share entries and evict each other's local copies.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TwoTierCacheTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static final String CACHE = "users";
+    private static final String KEY = "alice@example.com";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private final List<RedisMessageListenerContainer> listenerContainers = new ArrayList<>();
+
+    private TwoTierCacheManager nodeA;
+    private TwoTierCacheManager nodeB;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = connectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void startNodes() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+
+        nodeA = node(connectionFactory, true);
+        nodeB = node(connectionFactory, true);
+    }
+
+    @AfterEach
+    void stopNodes() throws Exception {
+        for (RedisMessageListenerContainer container : listenerContainers) {
+            container.destroy();
+        }
+        listenerContainers.clear();
+    }
+
+    @Test
+    void readsAnEntryCachedByAnotherNode() {
+        nodeA.getCache(CACHE).put(KEY, "Alice");
+
+        assertThat(nodeB.getCache(CACHE).get(KEY, String.class)).isEqualTo("Alice");
+        // The Redis hit is kept in the local tier
+        assertThat(localTierOf(nodeB).get(KEY)).isNotNull();
+    }
+
+    @Test
+    void loadsOnceForAllNodes() {
+        assertThat(nodeA.getCache(CACHE).get(KEY, () -> "Alice")).isEqualTo("Alice");
+
+        assertThat(nodeB.getCache(CACHE).<String>get(KEY, () -> {
+            throw new AssertionError("Loaded again although Redis holds the entry");
+        })).isEqualTo("Alice");
+    }
+
+    @Test
+    void putDropsTheLocalCopyOnOtherNodes() {
+        nodeA.getCache(CACHE).put(KEY, "Alice");
+        assertThat(nodeB.getCache(CACHE).get(KEY, String.class)).isEqualTo("Alice");
+
+        nodeA.getCache(CACHE).put(KEY, "Alicia");
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(localTierOf(nodeB).get(KEY)).isNull());
+        assertThat(nodeB.getCache(CACHE).get(KEY, String.class)).isEqualTo("Alicia");
+        // The writing node keeps its own copy
+        assertThat(localTierOf(nodeA).get(KEY, String.class)).isEqualTo("Alicia");
+    }
+
+    @Test
+    void evictRemovesTheEntryFromEveryNode() {
+        nodeA.getCache(CACHE).put(KEY, "Alice");
+        assertThat(nodeB.getCache(CACHE).get(KEY, String.class)).isEqualTo("Alice");
+
+        nodeA.getCache(CACHE).evict(KEY);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(localTierOf(nodeB).get(KEY)).isNull());
+        assertThat(nodeA.getCache(CACHE).get(KEY)).isNull();
+        assertThat(nodeB.getCache(CACHE).get(KEY)).isNull();
+    }
+
+    @Test
+    void clearOnlyRemovesKeysOfThatCache() {
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.opsForValue().set("unrelated", "kept");
+        nodeA.getCache(CACHE).put(KEY, "Alice");
+        nodeA.getCache("budgets").put(KEY, "Groceries");
+        assertThat(nodeB.getCache(CACHE).get(KEY, String.class)).isEqualTo("Alice");
+
+        nodeA.getCache(CACHE).clear();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(localTierOf(nodeB).get(KEY)).isNull());
+        assertThat(nodeB.getCache(CACHE).get(KEY)).isNull();
+        assertThat(nodeB.getCache("budgets").get(KEY, String.class)).isEqualTo("Groceries");
+        assertThat(redisTemplate.opsForValue().get("unrelated")).isEqualTo("kept");
+    }
+
+    @Test
+    void redisEntriesExpireNoLaterThanLocalOnes() {
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        nodeA.getCache(CACHE).put(KEY, "Alice");
+        nodeA.getCache("budgets").put(KEY, "Groceries");
+
+        // expireAfterWrite=60s in the spec of the cache
+        assertThat(redisTemplate.getExpire("budget-tracker:cache:" + CACHE + "::" + KEY)).isBetween(1L, 60L);
+        // No spec of its own, the default spec expires after 600s
+        assertThat(redisTemplate.getExpire("budget-tracker:cache:budgets::" + KEY)).isBetween(61L, 600L);
+    }
+
+    @Test
+    void keepsWorkingLocallyWithoutRedis() throws IOException {
+        LettuceConnectionFactory unreachable = connectionFactory("localhost", unusedPort());
+        try {
+            Cache cache = node(unreachable, false).getCache(CACHE);
+
+            assertThat(cache.get(KEY, () -> "Alice")).isEqualTo("Alice");
+            assertThat(cache.get(KEY, String.class)).isEqualTo("Alice");
+
+            cache.evict(KEY);
+            assertThat(cache.get(KEY)).isNull();
+        } finally {
+            unreachable.destroy();
+        }
+    }
+
+    private TwoTierCacheManager node(RedisConnectionFactory factory, boolean listen) {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getSpecs().put(CACHE, "maximumSize=100,expireAfterWrite=60s");
+        CacheConfig cacheConfig = new CacheConfig(cacheProperties);
+
+        CacheInvalidationPublisher publisher = cacheConfig.cacheInvalidationPublisher(
+                new StringRedisTemplate(factory), OBJECT_MAPPER);
+        TwoTierCacheManager cacheManager = cacheConfig.twoTierCacheManager(factory, publisher);
+
+        if (listen) {
+            RedisMessageListenerContainer container = cacheConfig.cacheInvalidationListenerContainer(factory, publisher);
+            container.afterPropertiesSet();
+            container.start();
+            listenerContainers.add(container);
+        }
+        return cacheManager;
+    }
+
+    private Cache localTierOf(TwoTierCacheManager cacheManager) {
+        return cacheManager.getExistingCache(CACHE).getLocalCache();
+    }
+
+    private static LettuceConnectionFactory connectionFactory(String host, int port) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(host, port);
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.budget_tracker.tracker.budget_tracker.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Checks that the hot repository queries are planned as index scans. The
+ * schema comes from the Flyway migrations and is seeded with enough rows per
+ * table that a missing index shows up as a sequential scan. One more user has
+ * a long history, with a few rows matching the search keywords, so keyword
+ * searches must go through the trigram indexes.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String USER_ID = "'user-42'";
+    private static final String HEAVY_USER_ID = "'user-heavy'";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            // 2,000 users with 10 categories, 100 transactions and 10 goals, budgets and schedules each
+            statement.execute("INSERT INTO users (id, email, first_name, last_name, password, role, enabled, "
+                    + "verification_token, created_at, updated_at) "
+                    + "SELECT 'user-' || u, 'user' || u || '@example.com', 'First', 'Last', 'secret', 'USER', true, "
+                    + "md5(u::text), now(), now() FROM generate_series(1, 2000) u");
+            statement.execute("INSERT INTO categories (name, type, created_by, created_at, updated_at) "
+                    + "SELECT 'Category ' || c, CASE WHEN c % 2 = 0 THEN 'INCOME' ELSE 'EXPENSE' END, "
+                    + "'user-' || (1 + c % 2000), now(), now() FROM generate_series(1, 20000) c");
+            statement.execute("INSERT INTO transactions (amount, description, transaction_category, type, "
+                    + "transaction_date, created_by, created_at, updated_at) "
+                    + "SELECT t % 500 + 0.99, 'Transaction ' || t, 1 + t % 20000, 'EXPENSE', "
+                    + "now() - (t % 730) * interval '1 day', 'user-' || (1 + (1 + t % 20000) % 2000), now(), now() "
+                    + "FROM generate_series(1, 200000) t");
+            statement.execute("INSERT INTO goals (name, target_amount, current_amount, status, category_id, "
+                    + "created_by, created_at, updated_at) "
+                    + "SELECT 'Goal ' || g, 1000, g % 1000, CASE WHEN g % 3 = 0 THEN 'COMPLETED' ELSE 'IN_PROGRESS' END, "
+                    + "1 + g % 20000, 'user-' || (1 + (1 + g % 20000) % 2000), now(), now() "
+                    + "FROM generate_series(1, 20000) g");
+            statement.execute("INSERT INTO budget (name, amount, category_id, created_by, created_at, updated_at) "
+                    + "SELECT 'Budget ' || b, 500, 1 + b % 20000, 'user-' || (1 + (1 + b % 20000) % 2000), now(), now() "
+                    + "FROM generate_series(1, 20000) b");
+            statement.execute("INSERT INTO recurring_transactions (amount, description, transaction_category, type, "
+                    + "day_of_month, recurrence_type, active, next_run_at, created_by, created_at, updated_at) "
+                    + "SELECT 9.99, 'Subscription ' || r, 1 + r % 20000, 'EXPENSE', 1 + r % 28, 'MONTHLY', true, "
+                    + "date_trunc('day', now()) + (r % 60) * interval '1 day', "
+                    + "'user-' || (1 + (1 + r % 20000) % 2000), now(), now() FROM generate_series(1, 20000) r");
+
+            // A user with 20,000 categories, 100,000 transactions and 20,000 goals and schedules,
+            // one in 5,000 matching the search keywords
+            statement.execute("INSERT INTO users (id, email, first_name, last_name, password, role, enabled, "
+                    + "verification_token, created_at, updated_at) "
+                    + "VALUES (" + HEAVY_USER_ID + ", 'heavy@example.com', 'First', 'Last', 'secret', 'USER', true, "
+                    + "md5('heavy'), now(), now())");
+            statement.execute("INSERT INTO categories (name, type, created_by, created_at, updated_at) "
+                    + "SELECT CASE WHEN c % 5000 = 0 THEN 'Streaming ' || c ELSE 'Category ' || c END, 'EXPENSE', "
+                    + HEAVY_USER_ID + ", now(), now() FROM generate_series(1, 20000) c");
+            String heavyCategories = "(SELECT min(id) AS first_id FROM categories WHERE created_by = "
+                    + HEAVY_USER_ID + ") hc";
+            statement.execute("INSERT INTO transactions (amount, description, transaction_category, type, "
+                    + "transaction_date, created_by, created_at, updated_at) "
+                    + "SELECT t % 500 + 0.99, CASE WHEN t % 5000 = 0 THEN 'Netflix subscription' "
+                    + "ELSE 'Transaction ' || t END, hc.first_id + t % 20000, 'EXPENSE', "
+                    + "now() - (t % 3650) * interval '1 day', " + HEAVY_USER_ID + ", now(), now() "
+                    + "FROM generate_series(1, 100000) t, " + heavyCategories);
+            statement.execute("INSERT INTO goals (name, target_amount, current_amount, status, category_id, "
+                    + "created_by, created_at, updated_at) "
+                    + "SELECT CASE WHEN g % 5000 = 0 THEN 'Netflix fund' ELSE 'Goal ' || g END, 1000, g % 1000, "
+                    + "'IN_PROGRESS', hc.first_id + g % 20000, " + HEAVY_USER_ID + ", now(), now() "
+                    + "FROM generate_series(1, 20000) g, " + heavyCategories);
+            statement.execute("INSERT INTO recurring_transactions (amount, description, transaction_category, type, "
+                    + "day_of_month, recurrence_type, active, next_run_at, created_by, created_at, updated_at) "
+                    + "SELECT 9.99, CASE WHEN r % 5000 = 0 THEN 'Netflix' ELSE 'Subscription ' || r END, "
+                    + "hc.first_id + r % 20000, 'EXPENSE', 1 + r % 28, 'MONTHLY', true, "
+                    + "date_trunc('day', now()) + (r % 60) * interval '1 day', " + HEAVY_USER_ID + ", now(), now() "
+                    + "FROM generate_series(1, 20000) r, " + heavyCategories);
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void transactionListingUsesUserDateIndex() throws Exception {
+        String filters = TransactionRepository.LIST_FILTERS
+                .replace(":userId", USER_ID)
+                .replace(":keyword", "NULL")
+                .replace(":type", "NULL")
+                .replace(":startDate", "NULL")
+                .replace(":endDate", "NULL");
+
+        assertIndexScan(TransactionRepository.LIST_COLUMNS + "WHERE " + filters
+                + " ORDER BY t.transaction_date DESC, t.id DESC LIMIT 20",
+                "transactions", "idx_transactions_created_by_date_id");
+    }
+
+    @Test
+    void dashboardTransactionRangeUsesUserDateIndex() throws Exception {
+        assertIndexScan("SELECT * FROM transactions t WHERE t.created_by = " + USER_ID
+                + " AND t.transaction_date BETWEEN now() - interval '30 days' AND now()",
+                "transactions", "idx_transactions_created_by_date_id");
+    }
+
+    @Test
+    void goalsOfUserUseUserStatusIndex() throws Exception {
+        assertIndexScan("SELECT * FROM goals g WHERE g.created_by = " + USER_ID + " AND g.status = 'IN_PROGRESS'",
+                "goals", "idx_goals_created_by_status");
+    }
+
+    @Test
+    void budgetsOfUserUseUserCategoryIndex() throws Exception {
+        assertIndexScan("SELECT * FROM budget b WHERE b.created_by = " + USER_ID,
+                "budget", "idx_budget_created_by_category");
+    }
+
+    @Test
+    void categoryNameCheckUsesUserNameTypeIndex() throws Exception {
+        assertIndexScan("SELECT c.id FROM categories c WHERE c.created_by = " + USER_ID
+                + " AND c.name = 'Category 41' AND c.type = 'EXPENSE' LIMIT 1",
+                "categories", "idx_categories_created_by_name_type");
+    }
+
+    @Test
+    void verificationTokenLookupUsesTokenIndex() throws Exception {
+        assertIndexScan("SELECT * FROM users u WHERE u.verification_token = md5('42')",
+                "users", "idx_users_verification_token");
+    }
+
+    @Test
+    void dueRecurringTransactionsOfShardUseNextRunIndex() throws Exception {
+        // SQL of RecurringTransactionRepository.findDue for shard 1 of 4
+        assertIndexScan("SELECT * FROM recurring_transactions rt "
+                + "JOIN categories c ON c.id = rt.transaction_category JOIN users u ON u.id = rt.created_by "
+                + "WHERE rt.active = true AND rt.next_run_at <= date_trunc('day', now()) "
+                + "AND mod(mod(hashtext(rt.created_by), 4) + 4, 4) = 1 "
+                + "ORDER BY rt.next_run_at, rt.id LIMIT 500",
+                "recurring_transactions", "idx_recurring_transactions_active_next_run");
+    }
+
+    @Test
+    void transactionKeywordSearchUsesTrigramIndex() throws Exception {
+        // SQL of TransactionRepository.searchSliceByFilters
+        String filters = TransactionRepository.LIST_FILTERS
+                .replace(":userId", HEAVY_USER_ID)
+                .replace(":keyword", "'netflix'")
+                .replace(":type", "NULL")
+                .replace(":startDate", "NULL")
+                .replace(":endDate", "NULL");
+
+        assertIndexScan(TransactionRepository.LIST_COLUMNS + "WHERE " + filters
+                + " ORDER BY word_similarity('netflix', t.description) DESC, t.id DESC LIMIT 21",
+                "transactions", "idx_transactions_description_trgm");
+    }
+
+    @Test
+    void goalKeywordSearchUsesTrigramIndex() throws Exception {
+        // SQL of GoalRepository.searchByKeyword
+        assertIndexScan("SELECT g.id, g.name FROM goals g WHERE g.created_by = " + HEAVY_USER_ID + " AND "
+                + "(g.name ILIKE CONCAT('%', 'netflix', '%') OR g.description ILIKE CONCAT('%', 'netflix', '%')) AND "
+                + "(NULL IS NULL OR g.status = NULL) AND (CAST(NULL AS bigint) IS NULL OR g.category_id = NULL) "
+                + "ORDER BY GREATEST(word_similarity('netflix', g.name), "
+                + "word_similarity('netflix', COALESCE(g.description, ''))) DESC, g.id DESC LIMIT 20",
+                "goals", "idx_goals_name_trgm");
+    }
+
+    @Test
+    void recurringTransactionKeywordSearchUsesTrigramIndex() throws Exception {
+        // SQL of RecurringTransactionRepository.searchByKeyword
+        assertIndexScan("SELECT rt.id, rt.description FROM recurring_transactions rt "
+                + "WHERE rt.created_by = " + HEAVY_USER_ID + " AND "
+                + "rt.description ILIKE CONCAT('%', 'netflix', '%') AND "
+                + "(NULL IS NULL OR rt.type = NULL) AND (NULL IS NULL OR rt.active = NULL) "
+                + "ORDER BY word_similarity('netflix', rt.description) DESC, rt.id DESC LIMIT 20",
+                "recurring_transactions", "idx_recurring_transactions_description_trgm");
+    }
+
+    @Test
+    void categoryKeywordSearchUsesTrigramIndex() throws Exception {
+        // SQL of CategoriesRepository.searchByKeyword
+        assertIndexScan("SELECT * FROM categories c WHERE c.created_by = " + HEAVY_USER_ID + " AND "
+                + "c.name ILIKE CONCAT('%', 'streaming', '%') AND (NULL IS NULL OR c.type = NULL) "
+                + "ORDER BY word_similarity('streaming', c.name) DESC, c.id DESC LIMIT 20",
+                "categories", "idx_categories_name_trgm");
+    }
+
+    private void assertIndexScan(String sql, String table, String index) throws Exception {
+        List<JsonNode> nodes = new ArrayList<>();
+        collectNodes(explain(sql).get(0).get("Plan"), nodes);
+
+        assertThat(nodes)
+                .as("Plan of %s", sql)
+                .noneMatch(node -> "Seq Scan".equals(node.path("Node Type").asText())
+                        && table.equals(node.path("Relation Name").asText()))
+                .anyMatch(node -> node.path("Node Type").asText().contains("Index")
+                        && index.equals(node.path("Index Name").asText()));
+    }
+
+    private JsonNode explain(String sql) throws Exception {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            resultSet.next();
+            return OBJECT_MAPPER.readTree(resultSet.getString(1));
+        }
+    }
+
+    private void collectNodes(JsonNode plan, List<JsonNode> nodes) {
+        nodes.add(plan);
+        for (JsonNode child : plan.path("Plans")) {
+            collectNodes(child, nodes);
+        }
+    }
+}
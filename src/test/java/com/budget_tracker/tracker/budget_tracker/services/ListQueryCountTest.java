@@ -0,0 +1,316 @@
+package com.budget_tracker.tracker.budget_tracker.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.budget_tracker.tracker.budget_tracker.controller.categories.dto.GetCategoriesRequest;
+import com.budget_tracker.tracker.budget_tracker.controller.transaction.dto.GetTransactionRequest;
+import com.budget_tracker.tracker.budget_tracker.entity.Budget;
+import com.budget_tracker.tracker.budget_tracker.entity.Categories;
+import com.budget_tracker.tracker.budget_tracker.entity.Goal;
+import com.budget_tracker.tracker.budget_tracker.entity.RecurringTransaction;
+import com.budget_tracker.tracker.budget_tracker.entity.Transaction;
+import com.budget_tracker.tracker.budget_tracker.entity.User;
+import com.budget_tracker.tracker.budget_tracker.enums.CategoryType;
+import com.budget_tracker.tracker.budget_tracker.enums.CountMode;
+import com.budget_tracker.tracker.budget_tracker.enums.GoalStatus;
+import com.budget_tracker.tracker.budget_tracker.enums.PaginationMode;
+import com.budget_tracker.tracker.budget_tracker.enums.RecurrenceType;
+import com.budget_tracker.tracker.budget_tracker.enums.Role;
+import com.budget_tracker.tracker.budget_tracker.services.budget.BudgetService;
+import com.budget_tracker.tracker.budget_tracker.services.categories.CategoriesService;
+import com.budget_tracker.tracker.budget_tracker.services.dashboard.SpendingRollupService;
+import com.budget_tracker.tracker.budget_tracker.services.goal.GoalService;
+import com.budget_tracker.tracker.budget_tracker.services.transaction.RecurringTransactionService;
+import com.budget_tracker.tracker.budget_tracker.services.transaction.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements of the list reads, including the ones Jackson
+ * would trigger while serializing the result. Each read must issue the same
+ * number of statements for a user with a few rows as for one with many, every
+ * row having its own category.
+ * <p>
+ * The rows are seeded through a TransactionTemplate: tests run in the test
+ * transaction roll them back, and tests run outside of one commit them and
+ * remove them afterwards.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.open-in-view=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ TransactionService.class, SpendingRollupService.class, GoalService.class, BudgetService.class,
+        RecurringTransactionService.class, CategoriesService.class })
+class ListQueryCountTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String FEW_ROWS = "few@example.com";
+    private static final String MANY_ROWS = "many@example.com";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @Autowired
+    private CategoriesService categoriesService;
+
+    private Statistics statistics;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    }
+
+    @BeforeEach
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            seedUser(FEW_ROWS, 3);
+            seedUser(MANY_ROWS, 40);
+            entityManager.flush();
+        });
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void removeSeed() {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute("TRUNCATE users CASCADE"));
+    }
+
+    @Test
+    void transactionListing() throws Exception {
+        // user, page, count
+        assertStatements(3, email -> transactionService.getAllTransactions(
+                GetTransactionRequest.builder().limit(20).build(), email));
+    }
+
+    @Test
+    void transactionListingWithEstimatedCount() throws Exception {
+        // user, page, count capped at ESTIMATED_COUNT_CAP
+        assertStatements(3, email -> transactionService.getAllTransactions(
+                GetTransactionRequest.builder().limit(20).count(CountMode.ESTIMATE).build(), email));
+    }
+
+    @Test
+    void transactionListingWithoutCount() throws Exception {
+        // user, page
+        assertStatements(2, email -> transactionService.getAllTransactions(
+                GetTransactionRequest.builder().limit(20).count(CountMode.NONE).build(), email));
+    }
+
+    @Test
+    void transactionKeysetListing() throws Exception {
+        // user, page; the date range leaves out the undated rows and their query
+        assertStatements(2, email -> transactionService.getAllTransactions(keysetPage(null), email));
+
+        Map<String, String> cursors = Map.of(
+                FEW_ROWS, transactionService.getAllTransactions(keysetPage(null), FEW_ROWS).getMetadata().getNextCursor(),
+                MANY_ROWS, transactionService.getAllTransactions(keysetPage(null), MANY_ROWS).getMetadata().getNextCursor());
+        // user, page after the cursor
+        assertStatements(2, email -> transactionService.getAllTransactions(keysetPage(cursors.get(email)), email));
+    }
+
+    @Test
+    void categoryListing() throws Exception {
+        // user, page, count
+        assertStatements(3, email -> categoriesService.getAllCategories(
+                GetCategoriesRequest.builder().limit(2).build(), email));
+    }
+
+    @Test
+    void categorySearch() throws Exception {
+        // user, page ranked by similarity, count
+        assertStatements(3, email -> categoriesService.getAllCategories(
+                GetCategoriesRequest.builder().keyword("Category").limit(2).build(), email));
+    }
+
+    @Test
+    void goalListing() throws Exception {
+        // user, goal rows joined with their categories
+        assertStatements(2, email -> goalService.getAllGoals(email));
+    }
+
+    @Test
+    void goalSearch() throws Exception {
+        // user, page, count
+        assertStatements(3, email -> goalService.getGoalsByFilters(
+                null, null, null, email, PageRequest.of(0, 2)).getContent());
+    }
+
+    @Test
+    void budgetListing() throws Exception {
+        // user, budget rows joined with their categories
+        assertStatements(2, email -> budgetService.getBudgets(email));
+    }
+
+    @Test
+    void recurringTransactionListing() throws Exception {
+        // user, schedule rows joined with their categories
+        assertStatements(2, email -> recurringTransactionService.getAllRecurringTransactions(email));
+    }
+
+    @Test
+    void recurringTransactionSearch() throws Exception {
+        // user, page, count
+        assertStatements(3, email -> recurringTransactionService.getRecurringTransactionsByFilters(
+                null, null, email, null, PageRequest.of(0, 2)).getContent());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void listingsOutsideATransaction() throws Exception {
+        // As in production, where a lazy load after the service returned would throw
+        // instead of showing up as one more statement
+        transactionListing();
+        transactionListingWithEstimatedCount();
+        transactionListingWithoutCount();
+        transactionKeysetListing();
+        categoryListing();
+        categorySearch();
+        goalListing();
+        goalSearch();
+        budgetListing();
+        recurringTransactionListing();
+        recurringTransactionSearch();
+    }
+
+    private void assertStatements(long expected, Read read) throws Exception {
+        assertThat(statementsOf(() -> read.of(FEW_ROWS))).as("Statements for a few rows").isEqualTo(expected);
+        assertThat(statementsOf(() -> read.of(MANY_ROWS))).as("Statements for many rows").isEqualTo(expected);
+    }
+
+    // Pages of two, so both users have a next page
+    private static GetTransactionRequest keysetPage(String cursor) {
+        return GetTransactionRequest.builder()
+                .pagination(PaginationMode.KEYSET)
+                .startDate(LocalDate.now().minusDays(60))
+                .endDate(LocalDate.now())
+                .limit(2)
+                .cursor(cursor)
+                .build();
+    }
+
+    private long statementsOf(Callable<Object> read) throws Exception {
+        entityManager.clear();
+        statistics.clear();
+        objectMapper.writeValueAsString(read.call());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedUser(String email, int rows) {
+        User user = User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(email)
+                .password("secret")
+                .role(Role.USER)
+                .enabled(true)
+                .build();
+        entityManager.persist(user);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows; i++) {
+            Categories category = Categories.builder()
+                    .name("Category " + i)
+                    .type(CategoryType.EXPENSE)
+                    .createdBy(user)
+                    .build();
+            entityManager.persist(category);
+            entityManager.persist(Transaction.builder()
+                    .amount(10.0 + i)
+                    .description("Transaction " + i)
+                    .type(CategoryType.EXPENSE)
+                    .transactionDate(now.minusDays(i))
+                    .transactionCategory(category)
+                    .createdBy(user)
+                    .build());
+            entityManager.persist(Goal.builder()
+                    .name("Goal " + i)
+                    .targetAmount(1000.0)
+                    .currentAmount(10.0 * i)
+                    .status(GoalStatus.IN_PROGRESS)
+                    .category(category)
+                    .createdBy(user)
+                    .build());
+            entityManager.persist(Budget.builder()
+                    .name("Budget " + i)
+                    .amount(500.0)
+                    .category(category)
+                    .createdBy(user)
+                    .build());
+            entityManager.persist(RecurringTransaction.builder()
+                    .amount(9.99)
+                    .description("Subscription " + i)
+                    .type(CategoryType.EXPENSE)
+                    .dayOfMonth(1 + i % 28)
+                    .recurrenceType(RecurrenceType.MONTHLY)
+                    .active(true)
+                    .transactionCategory(category)
+                    .createdBy(user)
+                    .build());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Read {
+        Object of(String userEmail) throws Exception;
+    }
+}
@@ -0,0 +1,190 @@
+package com.budget_tracker.tracker.budget_tracker.services.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.budget_tracker.tracker.budget_tracker.config.EmailOutboxProperties;
+import com.budget_tracker.tracker.budget_tracker.entity.EmailOutbox;
+import com.budget_tracker.tracker.budget_tracker.enums.EmailStatus;
+import com.budget_tracker.tracker.budget_tracker.repositories.EmailOutboxRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Sends queued emails to a Mailpit SMTP server and checks both the outbox rows
+ * and the messages Mailpit received. Runs outside of a test transaction so the
+ * workers see the committed rows, as they do in production.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.mail.username=budget@example.com")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ EmailOutboxService.class, EmailOutboxProcessor.class, EmailOutboxProperties.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxProcessorTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    private static final GenericContainer<?> MAILPIT = new GenericContainer<>("axllent/mailpit:v1.21")
+            .withExposedPorts(1025, 8025);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxProcessor emailOutboxProcessor;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    }
+
+    @BeforeEach
+    void clear() throws Exception {
+        emailOutboxRepository.deleteAll();
+        HTTP_CLIENT.send(HttpRequest.newBuilder(mailpitApi("/api/v1/messages")).DELETE().build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    @Test
+    void sendsQueuedEmailsAfterCommit() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            emailOutboxService.enqueue("user" + i + "@example.com", "Subject " + i, "<p>Body " + i + "</p>");
+        }
+
+        // Woken up by the commit, no poll needed
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(emailOutboxRepository.findAll())
+                .extracting(EmailOutbox::getStatus)
+                .containsOnly(EmailStatus.SENT)
+                .hasSize(3));
+        assertThat(emailOutboxRepository.findAll()).allSatisfy(email -> {
+            assertThat(email.getAttempts()).isEqualTo(1);
+            assertThat(email.getSentAt()).isNotNull();
+            assertThat(email.getLockedAt()).isNull();
+            assertThat(email.getLastError()).isNull();
+        });
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(receivedMessages()).hasSize(3));
+        List<JsonNode> messages = receivedMessages();
+        assertThat(messages).extracting(message -> message.path("Subject").asText())
+                .containsExactlyInAnyOrder("Subject 0", "Subject 1", "Subject 2");
+        assertThat(messages).extracting(message -> message.path("To").path(0).path("Address").asText())
+                .containsExactlyInAnyOrder("user0@example.com", "user1@example.com", "user2@example.com");
+        assertThat(messages).extracting(message -> message.path("From").path("Address").asText())
+                .containsOnly("budget@example.com");
+    }
+
+    @Test
+    void pollSendsEmailsLeftBehindByACrashedWorker() throws Exception {
+        LocalDateTime anHourAgo = LocalDateTime.now().minusHours(1);
+        EmailOutbox stuck = emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient("stuck@example.com")
+                .subject("Stuck")
+                .body("<p>Stuck</p>")
+                .status(EmailStatus.SENDING)
+                .attempts(1)
+                .nextAttemptAt(anHourAgo)
+                .lockedAt(anHourAgo)
+                .build());
+
+        emailOutboxProcessor.poll();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(
+                emailOutboxRepository.findById(stuck.getId()).orElseThrow().getStatus()).isEqualTo(EmailStatus.SENT));
+        assertThat(emailOutboxRepository.findById(stuck.getId()).orElseThrow().getAttempts()).isEqualTo(2);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(receivedMessages()).hasSize(1));
+        List<JsonNode> messages = receivedMessages();
+        assertThat(messages.get(0).path("Subject").asText()).isEqualTo("Stuck");
+    }
+
+    private List<JsonNode> receivedMessages() throws IOException, InterruptedException {
+        HttpResponse<String> response = HTTP_CLIENT.send(HttpRequest.newBuilder(mailpitApi("/api/v1/messages")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        List<JsonNode> messages = new ArrayList<>();
+        OBJECT_MAPPER.readTree(response.body()).path("messages").forEach(messages::add);
+        return messages;
+    }
+
+    private static URI mailpitApi(String path) {
+        return URI.create("http://" + MAILPIT.getHost() + ":" + MAILPIT.getMappedPort(8025) + path);
+    }
+
+    @TestConfiguration
+    static class MailConfig {
+
+        // Mailpit accepts plain SMTP without authentication
+        @Bean
+        JavaMailSender mailSender() {
+            JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+            mailSender.setHost(MAILPIT.getHost());
+            mailSender.setPort(MAILPIT.getMappedPort(1025));
+            Properties properties = mailSender.getJavaMailProperties();
+            properties.put("mail.smtp.auth", "false");
+            properties.put("mail.smtp.starttls.enable", "false");
+            return mailSender;
+        }
+
+        @Bean
+        ThreadPoolTaskExecutor emailTaskExecutor() {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(2);
+            executor.setMaxPoolSize(2);
+            executor.setQueueCapacity(2);
+            executor.setThreadNamePrefix("email-");
+            return executor;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.budget_tracker.tracker.budget_tracker.services.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.budget_tracker.tracker.budget_tracker.entity.RecurringTransaction;
+import com.budget_tracker.tracker.budget_tracker.enums.RecurrenceType;
+
+class RecurrenceScheduleTest {
+
+    @Test
+    void monthlyFallsOnTheLastDayOfShorterMonths() {
+        RecurringTransaction rent = schedule(RecurrenceType.MONTHLY, LocalDate.of(2025, 1, 31), 31);
+
+        assertThat(RecurrenceSchedule.nextAfter(rent, LocalDate.of(2025, 1, 31))).isEqualTo(LocalDate.of(2025, 2, 28));
+        // Back on the 31st once the month is long enough
+        assertThat(RecurrenceSchedule.nextAfter(rent, LocalDate.of(2025, 2, 28))).isEqualTo(LocalDate.of(2025, 3, 31));
+        assertThat(RecurrenceSchedule.nextAfter(rent, LocalDate.of(2025, 3, 31))).isEqualTo(LocalDate.of(2025, 4, 30));
+    }
+
+    @Test
+    void monthlyUsesTheLeapDay() {
+        RecurringTransaction rent = schedule(RecurrenceType.MONTHLY, LocalDate.of(2024, 1, 30), 30);
+
+        assertThat(RecurrenceSchedule.nextAfter(rent, LocalDate.of(2024, 1, 30))).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(RecurrenceSchedule.nextAfter(rent, LocalDate.of(2024, 2, 29))).isEqualTo(LocalDate.of(2024, 3, 30));
+    }
+
+    @Test
+    void monthlyDefaultsToTheDayOfTheStartDate() {
+        RecurringTransaction salary = schedule(null, LocalDate.of(2025, 1, 15), null);
+
+        assertThat(RecurrenceSchedule.firstOnOrAfter(salary, LocalDate.of(2025, 3, 16))).isEqualTo(LocalDate.of(2025, 4, 15));
+    }
+
+    @Test
+    void yearlyOnALeapDayFallsOnTheLastDayOfFebruaryOtherwise() {
+        RecurringTransaction renewal = schedule(RecurrenceType.YEARLY, LocalDate.of(2024, 2, 29), null);
+
+        assertThat(RecurrenceSchedule.nextAfter(renewal, LocalDate.of(2024, 2, 29))).isEqualTo(LocalDate.of(2025, 2, 28));
+        assertThat(RecurrenceSchedule.nextAfter(renewal, LocalDate.of(2025, 2, 28))).isEqualTo(LocalDate.of(2026, 2, 28));
+        assertThat(RecurrenceSchedule.firstOnOrAfter(renewal, LocalDate.of(2027, 3, 1))).isEqualTo(LocalDate.of(2028, 2, 29));
+    }
+
+    @Test
+    void yearlyRepeatsInTheMonthOfTheStartDate() {
+        RecurringTransaction insurance = schedule(RecurrenceType.YEARLY, LocalDate.of(2023, 6, 15), null);
+
+        assertThat(RecurrenceSchedule.firstOnOrAfter(insurance, LocalDate.of(2025, 1, 1))).isEqualTo(LocalDate.of(2025, 6, 15));
+        assertThat(RecurrenceSchedule.firstOnOrAfter(insurance, LocalDate.of(2025, 6, 16))).isEqualTo(LocalDate.of(2026, 6, 15));
+    }
+
+    @Test
+    void weeklyRepeatsOnTheWeekdayOfTheStartDate() {
+        // A Wednesday
+        RecurringTransaction groceries = schedule(RecurrenceType.WEEKLY, LocalDate.of(2025, 3, 5), null);
+
+        assertThat(RecurrenceSchedule.firstOnOrAfter(groceries, LocalDate.of(2025, 3, 1))).isEqualTo(LocalDate.of(2025, 3, 5));
+        assertThat(RecurrenceSchedule.nextAfter(groceries, LocalDate.of(2025, 3, 5))).isEqualTo(LocalDate.of(2025, 3, 12));
+        assertThat(RecurrenceSchedule.firstOnOrAfter(groceries, LocalDate.of(2025, 12, 29))).isEqualTo(LocalDate.of(2025, 12, 31));
+    }
+
+    @Test
+    void dailyRepeatsEveryDay() {
+        RecurringTransaction coffee = schedule(RecurrenceType.DAILY, LocalDate.of(2025, 2, 28), null);
+
+        assertThat(RecurrenceSchedule.nextAfter(coffee, LocalDate.of(2025, 2, 28))).isEqualTo(LocalDate.of(2025, 3, 1));
+    }
+
+    @Test
+    void noOccurrenceAfterTheEndDate() {
+        RecurringTransaction loan = schedule(RecurrenceType.MONTHLY, LocalDate.of(2025, 1, 10), 10);
+        loan.setEndDate(LocalDate.of(2025, 3, 10).atStartOfDay());
+
+        assertThat(RecurrenceSchedule.nextAfter(loan, LocalDate.of(2025, 2, 10))).isEqualTo(LocalDate.of(2025, 3, 10));
+        assertThat(RecurrenceSchedule.nextAfter(loan, LocalDate.of(2025, 3, 10))).isNull();
+    }
+
+    private RecurringTransaction schedule(RecurrenceType type, LocalDate startDate, Integer dayOfMonth) {
+        return RecurringTransaction.builder()
+                .recurrenceType(type)
+                .startDate(startDate.atStartOfDay())
+                .dayOfMonth(dayOfMonth)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.budget_tracker.tracker.budget_tracker.services.transaction;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import com.budget_tracker.tracker.budget_tracker.entity.RecurringTransaction;
+import com.budget_tracker.tracker.budget_tracker.repositories.RecurringTransactionRepository;
+
+/**
+ * Time of one recurring run over a million schedules in Postgres, mixed
+ * DAILY, WEEKLY, MONTHLY and YEARLY. About 33,000 schedules are due, some of
+ * them a few days behind, so the run needs several passes like a catch-up.
+ *
+ * fullRun repeats the scan of RecurringTransactionProcessor.processDueOccurrences:
+ * findDue and findDueAfter in chunks, each chunk advanced with ADVANCE_SQL in
+ * its own transaction, until no schedule is left due. Posting the transactions
+ * is left out. The due schedules are reset before every iteration.
+ *
+ * Needs Docker for the Postgres container. Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.budget_tracker.tracker.budget_tracker.services.transaction.RecurringScheduleBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RecurringScheduleBenchmark {
+
+    private static final int SCHEDULES = 1_000_000;
+    private static final int USERS = 10_000;
+    private static final int CHUNK_SIZE = 500;
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 31);
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private RecurringTransactionRepository recurringTransactionRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        // Flyway creates the schema; no application.yml, only the persistence setup
+        context = new SpringApplicationBuilder(PersistenceConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=recurring-schedule-benchmark",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.jpa.hibernate.ddl-auto=none");
+        recurringTransactionRepository = context.getBean(RecurringTransactionRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        String today = "DATE '" + TODAY + "'";
+        jdbcTemplate.execute("INSERT INTO users (id, email, first_name, last_name, password, role, enabled, "
+                + "verification_token, created_at, updated_at) "
+                + "SELECT 'user-' || u, 'user' || u || '@example.com', 'First', 'Last', 'secret', 'USER', true, "
+                + "md5(u::text), now(), now() FROM generate_series(1, " + USERS + ") u");
+        jdbcTemplate.execute("INSERT INTO categories (id, name, type, created_by, created_at, updated_at) "
+                + "SELECT c, 'Category ' || c, 'EXPENSE', 'user-' || c, now(), now() "
+                + "FROM generate_series(1, " + USERS + ") c");
+        // Next runs spread from 3 days ago to 116 days ahead
+        jdbcTemplate.execute("INSERT INTO recurring_transactions (amount, description, transaction_category, type, "
+                + "day_of_month, start_date, recurrence_type, active, next_run_at, created_by, created_at, updated_at) "
+                + "SELECT 9.99, 'Schedule ' || r, 1 + r % " + USERS + ", 'EXPENSE', 1 + r % 31, "
+                + today + " - (r % 730) * interval '1 day', "
+                + "(ARRAY['DAILY', 'WEEKLY', 'MONTHLY', 'YEARLY'])[1 + r % 4], true, "
+                + today + " + ((r::bigint * 7919) % 120 - 3) * interval '1 day', "
+                + "'user-' || (1 + r % " + USERS + "), now(), now() FROM generate_series(1, " + SCHEDULES + ") r");
+        jdbcTemplate.execute("CREATE TABLE due_schedules AS SELECT id, next_run_at FROM recurring_transactions "
+                + "WHERE next_run_at <= " + today);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetDueSchedules() {
+        jdbcTemplate.update("UPDATE recurring_transactions rt SET next_run_at = d.next_run_at "
+                + "FROM due_schedules d WHERE rt.id = d.id");
+        jdbcTemplate.execute("VACUUM ANALYZE recurring_transactions");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public long fullRun() {
+        LocalDateTime until = TODAY.atStartOfDay();
+        long advanced = 0;
+        int stillDue;
+        do {
+            stillDue = 0;
+            List<RecurringTransaction> chunk = recurringTransactionRepository.findDue(
+                    until, 0, 1, PageRequest.of(0, CHUNK_SIZE));
+            while (!chunk.isEmpty()) {
+                List<RecurringTransaction> due = chunk;
+                Integer left = transactionTemplate.execute(status -> advance(due));
+                stillDue += left != null ? left : 0;
+                advanced += chunk.size();
+
+                RecurringTransaction last = chunk.get(chunk.size() - 1);
+                chunk = recurringTransactionRepository.findDueAfter(until, 0, 1,
+                        last.getNextRunAt(), last.getId(), PageRequest.of(0, CHUNK_SIZE));
+            }
+        } while (stillDue > 0);
+        return advanced;
+    }
+
+    // Moves each schedule of the chunk to its next occurrence; returns how many are still due
+    private int advance(List<RecurringTransaction> due) {
+        Timestamp[] nextRuns = new Timestamp[due.size()];
+        int stillDue = 0;
+        for (int i = 0; i < due.size(); i++) {
+            RecurringTransaction recurringTransaction = due.get(i);
+            LocalDate nextRun = RecurrenceSchedule.nextAfter(recurringTransaction,
+                    recurringTransaction.getNextRunAt().toLocalDate());
+            if (nextRun != null) {
+                nextRuns[i] = Timestamp.valueOf(nextRun.atStartOfDay());
+                stillDue += nextRun.isAfter(TODAY) ? 0 : 1;
+            }
+        }
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RecurringTransactionProcessor.ADVANCE_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint",
+                    due.stream().map(RecurringTransaction::getId).toArray()));
+            statement.setArray(2, connection.createArrayOf("timestamp", nextRuns));
+            return statement;
+        });
+        return stillDue;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecurringScheduleBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({ DataSourceAutoConfiguration.class, FlywayAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class })
+    @EntityScan(basePackageClasses = RecurringTransaction.class)
+    @EnableJpaRepositories(basePackageClasses = RecurringTransactionRepository.class)
+    static class PersistenceConfig {
+    }
+}